@@ -3,7 +3,7 @@
 import { useEffect, useState, useMemo } from "react";
 import { useParams } from "next/navigation";
 import { workspaceService } from "@/services/workspace-service";
-import { workItemService } from "@/services/work-item-service";
+import { workItemService, WorkItemConflictError } from "@/services/work-item-service";
 import { WorkItem, WorkItemStatus, WorkspaceMember } from "@/types/types";
 import { Search, Plus } from "lucide-react";
 import { DragDropContext, Droppable, Draggable, DropResult } from "@hello-pangea/dnd";
@@ -14,7 +14,7 @@ import WorkItemDetailModal from "@/components/board/WorkItemDetailModal";
 import ViewOnlyWorkItemModal from "@/components/board/ViewOnlyWorkItemModal";
 import { COLUMNS } from "@/components/board/contants";
 
-import { useProjectSocket } from "@/hooks/use-project-socket";
+import { applySocketEvent, useProjectSocket } from "@/hooks/use-project-socket";
 
 export default function BoardPage() {
     const params = useParams();
@@ -147,10 +147,21 @@ export default function BoardPage() {
                 movedItem.id,
                 {
                     status: destStatus,
-                    position: newPosition
+                    position: newPosition,
+                    version: movedItem.version,
+                    merge: true
                 }
             );
         } catch (err) {
+            if (err instanceof WorkItemConflictError) {
+                // Someone else moved it first; show where it actually is now
+                const current = err.current;
+                setItems((currentItems) =>
+                    currentItems.map((item) => item.id === current.id ? current : item)
+                        .sort((a, b) => a.position - b.position)
+                );
+                return;
+            }
             console.error("Failed to update status/position on server:", err);
             setItems(previousItems);
         }
@@ -158,25 +169,10 @@ export default function BoardPage() {
 
     // Websocket
     const socketResult = useProjectSocket(projectId, (event) => {
-        setItems((currentItems) => {
-            switch (event.type) {
-                case 'CREATED':
-                    if (event.workItem && !currentItems.find(i => i.id === event.workItem!.id)) {
-                        return [...currentItems, event.workItem];
-                    }
-                    return currentItems;
-                case 'UPDATED':
-                    if (!event.workItem) return currentItems;
-                    return currentItems.map(item =>
-                        item.id === event.workItem!.id ? event.workItem! : item
-                    ).sort((a, b) => a.position - b.position);
-                case 'DELETED':
-                    return currentItems.filter(item => item.id !== event.workItemId);
-                default:
-                    return currentItems;
-            }
-        });
-    });
+        setItems((currentItems) =>
+            [...applySocketEvent(currentItems, event)].sort((a, b) => a.position - b.position)
+        );
+    }, fetchBoardData);
 
     const isConnected = (socketResult as any)?.isConnected ?? true;
 
@@ -187,6 +183,7 @@ export default function BoardPage() {
 
     const handleItemUpdate = async (updatedItem: WorkItem) => {
         setItems((prevItems) => prevItems.map((item) => item.id === updatedItem.id ? updatedItem : item));
+        setSelectedItem((selected) => selected?.id === updatedItem.id ? updatedItem : selected);
     };
 
     const handleItemDelete = async (itemId: string) => {
@@ -9,7 +9,7 @@ import { Search, Plus, ChevronUp, ChevronDown, ChevronsUpDown, Calendar, User as
 import CreateWorkItemModal from "@/components/board/CreateWorkItemModal";
 import WorkItemDetailModal from "@/components/board/WorkItemDetailModal";
 import ViewOnlyWorkItemModal from "@/components/board/ViewOnlyWorkItemModal";
-import { useProjectSocket } from "@/hooks/use-project-socket";
+import { applySocketEvent, useProjectSocket } from "@/hooks/use-project-socket";
 
 type SortField = "title" | "status" | "priority" | "createdAt" | "assignee";
 type SortDirection = "asc" | "desc";
@@ -69,25 +69,8 @@ export default function ListPage() {
 
     // Websocket
     const socketResult = useProjectSocket(projectId, (event) => {
-        setItems((currentItems) => {
-            switch (event.type) {
-                case 'CREATED':
-                    if (event.workItem && !currentItems.find(i => i.id === event.workItem!.id)) {
-                        return [...currentItems, event.workItem];
-                    }
-                    return currentItems;
-                case 'UPDATED':
-                    if (!event.workItem) return currentItems;
-                    return currentItems.map(item =>
-                        item.id === event.workItem!.id ? event.workItem! : item
-                    );
-                case 'DELETED':
-                    return currentItems.filter(item => item.id !== event.workItemId);
-                default:
-                    return currentItems;
-            }
-        });
-    });
+        setItems((currentItems) => applySocketEvent(currentItems, event));
+    }, fetchListData);
 
     const isConnected = (socketResult as any)?.isConnected ?? true;
 
@@ -3,7 +3,7 @@
 import { useState, useEffect, useMemo, useRef } from "react";
 import { projectService } from "@/services/project-service";
 import { workspaceService } from "@/services/workspace-service";
-import { workItemService } from "@/services/work-item-service";
+import { workItemService, WorkItemConflictError } from "@/services/work-item-service";
 import {
     WorkItem,
     WorkItemStatus,
@@ -202,17 +202,17 @@ export default function WorkItemDetailModal({
         setIsSaving(true);
         try {
 
-            const shouldRemoveAssignee = !assigneeId;
-
-            const payload: UpdateWorkItemRequest = {
-                title: title.trim(),
-                description: description.trim() || undefined,
-                status,
-                priority,
-                type,
-                assigneeId: assigneeId || null,
-                removeAssignee: shouldRemoveAssignee,
-            };
+            // Only edited fields are sent, so a concurrent edit to another field can be merged
+            const payload: UpdateWorkItemRequest = { version: item.version, merge: true };
+            if (title.trim() !== item.title) payload.title = title.trim();
+            if (description.trim() !== (item.description || "")) payload.description = description.trim();
+            if (status !== item.status) payload.status = status;
+            if (priority !== item.priority) payload.priority = priority;
+            if (type !== item.type) payload.type = type;
+            if (assigneeId !== item.assignee?.id) {
+                if (assigneeId) payload.assigneeId = assigneeId;
+                else payload.removeAssignee = true;
+            }
 
             const updatedItem = await workItemService.updateWorkItem(
                 workspaceId,
@@ -224,6 +224,12 @@ export default function WorkItemDetailModal({
             onUpdate(updatedItem);
             onClose();
         } catch (error: any) {
+            if (error instanceof WorkItemConflictError) {
+                // Reload the form with the latest version so the edit can be redone on top of it
+                onUpdate(error.current);
+                alert("Someone else changed the same fields. The latest version has been loaded.");
+                return;
+            }
             console.error("Failed to update work item", error);
             alert(error.message || "Failed to update work item. Please try again.");
         } finally {
@@ -14,6 +14,7 @@ import { useRouter } from "next/navigation";
 import { authService } from "@/services/auth-service";
 import { notificationService } from "@/services/notification-service"; // Import your service
 import NotificationsModal from "@/components/notifications/NotificationsModal";
+import { useNotificationSocket } from "@/hooks/use-notification-socket";
 
 export default function UserActions() {
   const router = useRouter();
@@ -23,8 +24,8 @@ export default function UserActions() {
   useEffect(() => {
     const checkNotifications = async () => {
       try {
-        const status = await notificationService.hasUnreadNotifications();
-        setHasUnread(status);
+        const count = await notificationService.getUnreadCount();
+        setHasUnread(count > 0);
       } catch (error) {
         console.error("Failed to check notifications", error);
       }
@@ -32,6 +33,15 @@ export default function UserActions() {
     checkNotifications();
   }, []);
 
+  // Later changes are pushed over the socket instead of polled
+  useNotificationSocket((update) => {
+    if (update.item) {
+      setHasUnread(true);
+    } else if (update.unreadCount === 0) {
+      setHasUnread(false);
+    }
+  });
+
   const handleLogout = () => {
     authService.logout();
     router.push("/");
@@ -2,7 +2,7 @@
 
 import { useEffect, useState } from "react";
 import { createPortal } from "react-dom";
-import { X, Check, Bell, Inbox, UserPlus, ChevronRight, Loader2 } from "lucide-react";
+import { X, Check, CheckCheck, Bell, Inbox, UserPlus, ChevronRight, Loader2 } from "lucide-react";
 import { InboxItem } from "@/types/types";
 import { notificationService } from "@/services/notification-service";
 
@@ -21,6 +21,8 @@ export default function NotificationsModal({
     const [activeFilter, setActiveFilter] = useState<FilterType>("all");
     const [notifications, setNotifications] = useState<InboxItem[]>([]);
     const [isLoading, setIsLoading] = useState(false);
+    const [nextCursor, setNextCursor] = useState<string | null>(null);
+    const [isLoadingMore, setIsLoadingMore] = useState(false);
     const [error, setError] = useState<string | null>(null);
 
     useEffect(() => {
@@ -36,8 +38,9 @@ export default function NotificationsModal({
         setIsLoading(true);
         setError(null);
         try {
-            const data = await notificationService.getNotifications();
-            setNotifications(data);
+            const page = await notificationService.getNotificationPage();
+            setNotifications(page.items);
+            setNextCursor(page.nextCursor);
         } catch (err) {
             console.error("Failed to load notifications", err);
             setError("Failed to load notifications");
@@ -46,6 +49,20 @@ export default function NotificationsModal({
         }
     };
 
+    const loadMore = async () => {
+        if (!nextCursor) return;
+        setIsLoadingMore(true);
+        try {
+            const page = await notificationService.getNotificationPage(nextCursor);
+            setNotifications((prev) => [...prev, ...page.items]);
+            setNextCursor(page.nextCursor);
+        } catch (err) {
+            console.error("Failed to load more notifications", err);
+        } finally {
+            setIsLoadingMore(false);
+        }
+    };
+
     const handleMarkRead = async (e: React.MouseEvent, id: string) => {
         e.stopPropagation();
         try {
@@ -56,6 +73,17 @@ export default function NotificationsModal({
         }
     };
 
+    const handleMarkAllRead = async () => {
+        const ids = notifications.filter((n) => n.type !== 'invite').map((n) => n.id);
+        if (ids.length === 0) return;
+        try {
+            await notificationService.markManyRead(ids);
+            setNotifications((prev) => prev.filter((n) => n.type === 'invite'));
+        } catch (err) {
+            console.error("Failed to mark all read", err);
+        }
+    };
+
     const handleAcceptInvite = async (e: React.MouseEvent, id: string) => {
         e.stopPropagation();
         try {
@@ -110,9 +138,20 @@ export default function NotificationsModal({
                     <h2 className="text-lg font-bold text-gray-900 flex items-center gap-2">
                         Inbox
                     </h2>
-                    <button onClick={onClose} className="text-gray-400 hover:text-gray-600 hover:bg-gray-100 p-2 rounded-full transition-all">
-                        <X className="w-5 h-5" />
-                    </button>
+                    <div className="flex items-center gap-2">
+                        {notifications.some((n) => n.type !== 'invite') && (
+                            <button
+                                onClick={handleMarkAllRead}
+                                className="text-xs font-medium text-gray-500 hover:text-indigo-600 flex items-center gap-1 transition-colors"
+                            >
+                                <CheckCheck className="w-4 h-4" />
+                                Mark all read
+                            </button>
+                        )}
+                        <button onClick={onClose} className="text-gray-400 hover:text-gray-600 hover:bg-gray-100 p-2 rounded-full transition-all">
+                            <X className="w-5 h-5" />
+                        </button>
+                    </div>
                 </div>
 
                 {/* Tabs */}
@@ -185,6 +224,7 @@ export default function NotificationsModal({
 
                                         <p className="text-[10px] text-gray-400 font-medium">
                                             {item.time}
+                                            {item.updateCount > 1 && ` · ${item.updateCount} updates`}
                                         </p>
 
                                         {/* Invite Buttons */}
@@ -218,6 +258,16 @@ export default function NotificationsModal({
                                     )}
                                 </div>
                             ))}
+
+                            {nextCursor && (
+                                <button
+                                    onClick={loadMore}
+                                    disabled={isLoadingMore}
+                                    className="w-full py-2 text-xs font-medium text-indigo-600 hover:underline disabled:text-gray-400"
+                                >
+                                    {isLoadingMore ? "Loading..." : "Load more"}
+                                </button>
+                            )}
                         </div>
                     )}
                 </div>
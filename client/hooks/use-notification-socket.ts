@@ -0,0 +1,46 @@
+import { useEffect, useRef } from 'react';
+import SockJS from 'sockjs-client';
+import { Stomp } from '@stomp/stompjs';
+import { InboxItem } from '@/types/types';
+import { authService } from '@/services/auth-service';
+
+export interface InboxUpdate {
+    item?: InboxItem;   // set when a new notification arrived
+    unreadCount: number;
+}
+
+/**
+ * Subscribes to the current user's notification queue.
+ * The server pushes new inbox items and unread-count changes, so there is nothing to poll.
+ */
+export const useNotificationSocket = (onUpdate: (update: InboxUpdate) => void) => {
+    // Keep the latest callback without reconnecting on every render
+    const onUpdateRef = useRef(onUpdate);
+    onUpdateRef.current = onUpdate;
+
+    useEffect(() => {
+        const token = authService.getToken();
+        if (!token) return;
+
+        const client = Stomp.over(() => {
+            return new SockJS(`${process.env.NEXT_PUBLIC_API_URL?.replace('/api', '')}/ws`);
+        });
+
+        client.debug = () => { };
+
+        // The token on CONNECT ties this session to the user's /user/queue destinations
+        client.connect({ Authorization: `Bearer ${token}` }, () => {
+            client.subscribe('/user/queue/notifications', (message) => {
+                onUpdateRef.current(JSON.parse(message.body));
+            });
+        }, (error: any) => {
+            console.error('Notification socket error:', error);
+        });
+
+        return () => {
+            if (client && client.connected) {
+                client.disconnect();
+            }
+        };
+    }, []);
+};
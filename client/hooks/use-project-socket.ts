@@ -1,23 +1,67 @@
-import { useEffect } from 'react';
+import { useEffect, useRef } from 'react';
 import SockJS from 'sockjs-client';
 import { Stomp } from '@stomp/stompjs';
 import { WorkItem } from '@/types/types';
 
-type EventType = 'CREATED' | 'UPDATED' | 'DELETED';
+type EventType = 'CREATED' | 'UPDATED' | 'PATCHED' | 'DELETED';
 
-interface SocketEvent {
+export interface SocketEvent {
     type: EventType;
-    workItem: WorkItem | null;
-    workItemId: string | null;
+    workItem?: WorkItem | null;
+    workItemId?: string | null;
+    changes?: Partial<WorkItem>; // only the changed fields, for PATCHED
+    version: number;             // per-project, increases by one per event
 }
 
+// The server coalesces events for a short window and sends them as one frame
+interface SocketEventBatch {
+    source: string; // server node that stamped the versions
+    fromVersion: number;
+    toVersion: number;
+    events: SocketEvent[];
+}
+
+/**
+ * Applies a socket event to a list of items.
+ * Shared by the board and list views.
+ */
+export const applySocketEvent = (items: WorkItem[], event: SocketEvent): WorkItem[] => {
+    switch (event.type) {
+        case 'CREATED':
+            if (event.workItem && !items.find(i => i.id === event.workItem!.id)) {
+                return [...items, event.workItem];
+            }
+            return items;
+        case 'UPDATED':
+            if (!event.workItem) return items;
+            return items.map(item => item.id === event.workItem!.id ? event.workItem! : item);
+        case 'PATCHED':
+            if (!event.changes) return items;
+            return items.map(item => item.id === event.workItemId ? { ...item, ...event.changes } : item);
+        case 'DELETED':
+            return items.filter(item => item.id !== event.workItemId);
+        default:
+            return items;
+    }
+};
+
 export const useProjectSocket = (
     projectId: string,
-    onEvent: (event: SocketEvent) => void
+    onEvent: (event: SocketEvent) => void,
+    onResync?: () => void // called when a version gap shows that events were missed
 ) => {
+    // Keep the latest callbacks without reconnecting on every render
+    const onEventRef = useRef(onEvent);
+    const onResyncRef = useRef(onResync);
+    onEventRef.current = onEvent;
+    onResyncRef.current = onResync;
+
     useEffect(() => {
         if (!projectId) return;
 
+        // Each server node numbers its own events
+        const lastVersions = new Map<string, number>();
+
         // Connect to the endpoint defined in Java WebSocketConfig
         const client = Stomp.over(() => {
             return new SockJS(`${process.env.NEXT_PUBLIC_API_URL?.replace('/api', '')}/ws`);
@@ -28,8 +72,17 @@ export const useProjectSocket = (
         client.connect({}, () => {
             // Subscribe to the specific project topic
             client.subscribe(`/topic/project/${projectId}`, (message) => {
-                const event: SocketEvent = JSON.parse(message.body);
-                onEvent(event);
+                const batch: SocketEventBatch = JSON.parse(message.body);
+
+                const lastVersion = lastVersions.get(batch.source);
+                const hasGap = lastVersion !== undefined && batch.fromVersion !== lastVersion + 1;
+                lastVersions.set(batch.source, batch.toVersion);
+
+                if (hasGap && onResyncRef.current) {
+                    onResyncRef.current();
+                    return;
+                }
+                batch.events.forEach(event => onEventRef.current(event));
             });
         }, (error: any) => {
             console.error('Socket connection error:', error);
@@ -40,5 +93,5 @@ export const useProjectSocket = (
                 client.disconnect();
             }
         };
-    }, [projectId, onEvent]);
-};
\ No newline at end of file
+    }, [projectId]);
+};
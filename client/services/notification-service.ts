@@ -1,5 +1,5 @@
 import { authService } from "./auth-service";
-import { InboxItem } from "@/types/types"; 
+import { InboxItem, InboxPage } from "@/types/types"; 
 
 const API_BASE_URL = `${process.env.NEXT_PUBLIC_API_URL}/notifications`;
 
@@ -27,6 +27,33 @@ export const notificationService = {
         return data;
     },
 
+    /**
+     * Fetches one page of notifications, newest first.
+     * Pass the previous page's nextCursor to continue.
+     */
+    async getNotificationPage(cursor?: string | null, limit = 20): Promise<InboxPage> {
+        const token = authService.getToken();
+
+        const params = new URLSearchParams({ limit: String(limit) });
+        if (cursor) params.set("cursor", cursor);
+
+        const response = await fetch(`${API_BASE_URL}/page?${params}`, {
+            method: "GET",
+            headers: {
+                "Content-Type": "application/json",
+                "Authorization": `Bearer ${token}`,
+            },
+        });
+
+        const data = await response.json();
+
+        if (!response.ok) {
+            throw new Error(data.message || "Failed to fetch notifications");
+        }
+
+        return data;
+    },
+
     /**
      * Mark a notification as read.
      * For "updates", this deletes the notification.
@@ -48,6 +75,31 @@ export const notificationService = {
         }
     },
 
+    /**
+     * Mark many notifications as read in one request.
+     * Invites are skipped; they still need to be accepted or declined.
+     */
+    async markManyRead(notificationIds: string[]): Promise<number> {
+        const token = authService.getToken();
+
+        const response = await fetch(`${API_BASE_URL}/read`, {
+            method: "POST",
+            headers: {
+                "Content-Type": "application/json",
+                "Authorization": `Bearer ${token}`,
+            },
+            body: JSON.stringify({ ids: notificationIds }),
+        });
+
+        const data = await response.json().catch(() => ({}));
+
+        if (!response.ok) {
+            throw new Error(data.message || "Failed to mark notifications as read");
+        }
+
+        return data.removed;
+    },
+
     /**
      * Accept an invite.
      * Adds the user to the workspace and removes the notification.
@@ -91,13 +143,13 @@ export const notificationService = {
     },
 
     /**
-     * Checks if the user has any unread notifications.
-     * Returns true if there are notifications, false otherwise.
+     * Returns how many unread notifications the user has.
+     * Served from a server-side counter, so it is cheap to call.
      */
-    async hasUnreadNotifications(): Promise<boolean> {
+    async getUnreadCount(): Promise<number> {
         const token = authService.getToken();
 
-        const response = await fetch(`${API_BASE_URL}/has-unread`, {
+        const response = await fetch(`${API_BASE_URL}/unread-count`, {
             method: "GET",
             headers: {
                 "Content-Type": "application/json",
@@ -108,9 +160,9 @@ export const notificationService = {
         const data = await response.json();
 
         if (!response.ok) {
-            throw new Error(data.message || "Failed to check notification status");
+            throw new Error(data.message || "Failed to fetch unread count");
         }
 
-        return data;
+        return data.count;
     },
 };
\ No newline at end of file
@@ -1,5 +1,13 @@
 import { authService } from "./auth-service";
-import { CreateWorkItemRequest, UpdateWorkItemRequest, WorkItem } from "@/types/types";
+import { CreateWorkItemRequest, UpdateWorkItemRequest, WorkItem, WorkItemBatchResult, WorkItemOperation } from "@/types/types";
+
+// Thrown on 409: the item changed since the version the update was based on
+export class WorkItemConflictError extends Error {
+    constructor(public readonly current: WorkItem) {
+        super("This work item was changed by someone else");
+        this.name = "WorkItemConflictError";
+    }
+}
 
 const getBaseUrl = (workspaceId: string, projectId: string) =>
     `${process.env.NEXT_PUBLIC_API_URL}/projects/${workspaceId}/${projectId}/work-items`;
@@ -58,6 +66,7 @@ export const workItemService = {
         });
 
         const data = await response.json();
+        if (response.status === 409) throw new WorkItemConflictError(data);
         if (!response.ok) throw new Error(data.message || "Failed to update work item");
         return data;
     },
@@ -77,4 +86,25 @@ export const workItemService = {
             throw new Error(data.message || "Failed to delete work item");
         }
     },
+
+    // Applies up to 500 operations atomically; the board receives them as one socket batch
+    async applyBatch(
+        workspaceId: string,
+        projectId: string,
+        operations: WorkItemOperation[]
+    ): Promise<WorkItemBatchResult> {
+        const token = authService.getToken();
+        const response = await fetch(`${getBaseUrl(workspaceId, projectId)}/batch`, {
+            method: "POST",
+            headers: {
+                "Content-Type": "application/json",
+                "Authorization": `Bearer ${token}`,
+            },
+            body: JSON.stringify({ operations }),
+        });
+
+        const data = await response.json().catch(() => ({}));
+        if (!response.ok) throw new Error(data.message || "Failed to apply work item changes");
+        return data;
+    },
 };
\ No newline at end of file
@@ -63,6 +63,20 @@ export interface UpdateWorkItemRequest {
   assigneeId?: string | null;
   position?: number; // optionl ahaha
   removeAssignee?: boolean;
+  version?: number; // version the edit was made against; a stale one gets a 409
+  merge?: boolean; // accept a stale version if none of the fields sent here changed since
+}
+
+// One step of a bulk request; assigneeId null unassigns
+export type WorkItemOperation =
+  | { op: 'MOVE'; workItemId: string; status?: WorkItemStatus; position?: number }
+  | { op: 'ASSIGN'; workItemId: string; assigneeId: string | null }
+  | { op: 'DELETE'; workItemId: string };
+
+export interface WorkItemBatchResult {
+  moved: number;
+  assigned: number;
+  deleted: number;
 }
 
 export type WorkItemStatus = 'BACKLOG' | 'TODO' | 'IN_PROGRESS' | 'DONE';
@@ -87,6 +101,7 @@ export interface WorkItem {
   creator: User;
 
   projectId: string;
+  version: number;
 }
 
 export interface InboxItem {
@@ -95,5 +110,12 @@ export interface InboxItem {
   workspaceName: string;
   projectName: string | null; // Nullable for invites
   subtitle: string;
+  updateCount: number; // > 1 when repeated updates were digested into this item
   time: string;
+}
+
+// One page of the inbox, newest first; nextCursor is null on the last page
+export interface InboxPage {
+  items: InboxItem[];
+  nextCursor: string | null;
 }
\ No newline at end of file
@@ -3,11 +3,14 @@ package com.strideboard;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
+import com.strideboard.config.PasswordHashingProperties;
 import com.strideboard.config.RsaKeyProperties; // Import your record
 
 @SpringBootApplication
-@EnableConfigurationProperties(RsaKeyProperties.class) 
+@EnableConfigurationProperties({ RsaKeyProperties.class, PasswordHashingProperties.class })
+@EnableScheduling
 public class StrideboardServerApplication {
     public static void main(String[] args) {
         SpringApplication.run(StrideboardServerApplication.class, args);
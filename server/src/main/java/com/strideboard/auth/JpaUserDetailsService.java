@@ -2,9 +2,12 @@ package com.strideboard.auth;
 
 import java.util.Collections;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import com.strideboard.data.user.ChangePasswordRequest;
@@ -15,24 +18,40 @@ import com.strideboard.data.user.UserRepository;
 import jakarta.transaction.Transactional;
 
 @Service
-public class JpaUserDetailsService implements UserDetailsService {
+public class JpaUserDetailsService implements UserDetailsService, UserDetailsPasswordService {
 
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PasswordEncoder passwordEncoder;
 
-    public JpaUserDetailsService(UserRepository userRepository) {
+    public JpaUserDetailsService(UserRepository userRepository, ApplicationEventPublisher eventPublisher,
+            PasswordEncoder passwordEncoder) {
         this.userRepository = userRepository;
+        this.eventPublisher = eventPublisher;
+        this.passwordEncoder = passwordEncoder;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         return userRepository.findByEmail(email)
                 .map(user -> org.springframework.security.core.userdetails.User.withUsername(user.getEmail())
-                        .password(user.getPassword()) // Plain text check
+                        .password(user.getPassword()) // "{bcrypt}..." / "{argon2}...", or legacy plain text
                         .authorities(Collections.emptyList())
                         .build())
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
     }
 
+    // Called by DaoAuthenticationProvider after a successful login whose stored hash is
+    // plain text, uses the other algorithm or a lower cost than configured
+    @Override
+    @Transactional
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        userRepository.updatePasswordByEmail(user.getUsername(), newPassword);
+        return org.springframework.security.core.userdetails.User.withUserDetails(user)
+                .password(newPassword)
+                .build();
+    }
+
     public User registerUser(RegisterRequest request) {
         // Check if user already exists
         if (userRepository.findByEmail(request.getEmail()).isPresent()) {
@@ -41,11 +60,14 @@ public class JpaUserDetailsService implements UserDetailsService {
 
         User user = User.builder()
                 .email(request.getEmail())
-                .password(request.getPassword()) //
+                .password(passwordEncoder.encode(request.getPassword()))
                 .fullName(request.getFullName())
                 .build();
 
-        return userRepository.save(user);
+        User saved = userRepository.save(user);
+        // Lets the in-memory user search pick up the new account
+        eventPublisher.publishEvent(UserChangedEvent.of(saved.getEmail()));
+        return saved;
     }
 
     // Get the current user's info
@@ -72,6 +94,7 @@ public class JpaUserDetailsService implements UserDetailsService {
         }
 
         User saved = userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(email, saved.getEmail()));
         return new UserInfo(saved.getFullName(), saved.getEmail());
     }
 
@@ -81,14 +104,15 @@ public class JpaUserDetailsService implements UserDetailsService {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        // Validate current password (Plain text as per your setup)
-        if (!user.getPassword().equals(request.currentPassword())) {
+        // Validate current password
+        if (!passwordEncoder.matches(request.currentPassword(), user.getPassword())) {
             throw new RuntimeException("Current password does not match");
         }
 
         // Set new password
-        user.setPassword(request.newPassword());
+        user.setPassword(passwordEncoder.encode(request.newPassword()));
         userRepository.save(user);
+        eventPublisher.publishEvent(UserChangedEvent.of(email));
     }
 
 }
\ No newline at end of file
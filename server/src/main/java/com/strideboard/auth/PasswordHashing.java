@@ -0,0 +1,51 @@
+package com.strideboard.auth;
+
+import java.util.Map;
+
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.NoOpPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.strideboard.config.PasswordHashingProperties;
+
+/**
+ * Builds the encoder behind the PasswordEncoder bean.
+ *
+ * Hashes are stored as "{id}hash", so either algorithm can verify what the other wrote.
+ * upgradeEncoding() is true for hashes written with the other algorithm, with a lower
+ * cost than configured, or without any prefix (legacy plain text), which is what makes
+ * DaoAuthenticationProvider re-hash them after a successful login.
+ */
+public final class PasswordHashing {
+    public static final String BCRYPT = "bcrypt";
+    public static final String ARGON2 = "argon2";
+
+    private static final int ARGON2_SALT_LENGTH = 16;
+    private static final int ARGON2_HASH_LENGTH = 32;
+
+    private PasswordHashing() {
+    }
+
+    @SuppressWarnings("deprecation")
+    public static DelegatingPasswordEncoder encoder(PasswordHashingProperties properties) {
+        String algorithm = properties.algorithm().toLowerCase();
+        if (!algorithm.equals(BCRYPT) && !algorithm.equals(ARGON2)) {
+            throw new IllegalArgumentException("Unsupported password algorithm: " + properties.algorithm());
+        }
+
+        PasswordHashingProperties.Argon2 argon2 = properties.argon2();
+        Map<String, PasswordEncoder> encoders = Map.of(
+                BCRYPT, new BCryptPasswordEncoder(properties.bcrypt().strength()),
+                ARGON2, new Argon2PasswordEncoder(ARGON2_SALT_LENGTH, ARGON2_HASH_LENGTH,
+                        argon2.parallelism(), argon2.memory(), argon2.iterations()));
+
+        DelegatingPasswordEncoder encoder = new DelegatingPasswordEncoder(algorithm, encoders);
+        if (properties.acceptPlaintext()) {
+            // Unprefixed rows are compared as plain text, then upgraded on login
+            encoder.setDefaultPasswordEncoderForMatches(NoOpPasswordEncoder.getInstance());
+        }
+        return encoder;
+    }
+}
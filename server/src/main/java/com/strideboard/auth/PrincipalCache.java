@@ -0,0 +1,68 @@
+package com.strideboard.auth;
+
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.strideboard.data.user.AuthenticatedUser;
+import com.strideboard.data.user.UserRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Resolves the JWT subject (email) into the caller's identity without hitting
+ * the users table on every request. Entries are bounded by size and TTL and are
+ * dropped whenever the user's profile or password changes.
+ * Hit/miss rates are published under the "principals" cache metrics.
+ */
+@Component
+public class PrincipalCache {
+    private final UserRepository userRepository;
+    private final LoadingCache<String, AuthenticatedUser> cache;
+
+    public PrincipalCache(UserRepository userRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.principals.max-size:10000}") long maxSize,
+            @Value("${app.cache.principals.ttl:10m}") Duration ttl) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "principals");
+    }
+
+    public AuthenticatedUser resolve(Authentication auth) {
+        AuthenticatedUser user = cache.get(auth.getName());
+        if (user == null) {
+            throw new UsernameNotFoundException("User not found");
+        }
+        return user;
+    }
+
+    public void evict(String email) {
+        cache.invalidate(email);
+    }
+
+    // Runs after commit so a concurrent request cannot re-cache the old row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        cache.invalidateAll(event.emails());
+    }
+
+    // Unknown emails return null so they are never cached
+    private AuthenticatedUser load(String email) {
+        return userRepository.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElse(null);
+    }
+}
@@ -0,0 +1,14 @@
+package com.strideboard.auth;
+
+import java.util.List;
+
+/**
+ * Published when a user's identity or credentials change.
+ * Carries every email the user was known by so stale cache entries can be dropped.
+ */
+public record UserChangedEvent(List<String> emails) {
+
+    public static UserChangedEvent of(String... emails) {
+        return new UserChangedEvent(List.of(emails));
+    }
+}
@@ -0,0 +1,35 @@
+package com.strideboard.config;
+
+import java.time.Duration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * Password storage settings ('app.security.password' in YAML).
+ *
+ * algorithm is what new hashes are written with (bcrypt or argon2). Both formats
+ * record their own cost in the hash, so raising a work factor leaves existing hashes
+ * readable and they are re-hashed at the new cost on the user's next login.
+ * acceptPlaintext keeps rows written before hashing existed working until they have
+ * all been upgraded.
+ */
+@ConfigurationProperties(prefix = "app.security.password")
+public record PasswordHashingProperties(
+        String algorithm,
+        boolean acceptPlaintext,
+        Bcrypt bcrypt,
+        Argon2 argon2,
+        Hashing hashing) {
+
+    // strength is log2 of the number of rounds (4-31)
+    public record Bcrypt(int strength) {
+    }
+
+    // memory in KiB
+    public record Argon2(int memory, int iterations, int parallelism) {
+    }
+
+    // threads = 0 means one per CPU core
+    public record Hashing(int threads, int queueCapacity, Duration timeout) {
+    }
+}
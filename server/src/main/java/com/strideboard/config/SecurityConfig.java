@@ -1,5 +1,6 @@
 package com.strideboard.config;
 
+import java.time.Duration;
 import java.util.Arrays;
 
 import org.springframework.beans.factory.annotation.Value;
@@ -8,13 +9,14 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.password.NoOpPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.oauth2.jwt.JwtDecoder;
 import org.springframework.security.oauth2.jwt.JwtEncoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
 import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.security.web.AuthenticationEntryPoint;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.authentication.www.BasicAuthenticationEntryPoint;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -25,17 +27,26 @@ import com.nimbusds.jose.jwk.RSAKey;
 import com.nimbusds.jose.jwk.source.ImmutableJWKSet;
 import com.nimbusds.jose.jwk.source.JWKSource;
 import com.nimbusds.jose.proc.SecurityContext;
+import com.strideboard.auth.BoundedPasswordEncoder;
+import com.strideboard.auth.CachingJwtDecoder;
+import com.strideboard.auth.PasswordHashing;
+import com.strideboard.auth.PasswordHashingBusyException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletResponse;
 
 @Configuration
 public class SecurityConfig {
 
     private final RsaKeyProperties rsaKeys;
+    private final PasswordHashingProperties passwordHashing;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
-    public SecurityConfig(RsaKeyProperties rsaKeys) {
+    public SecurityConfig(RsaKeyProperties rsaKeys, PasswordHashingProperties passwordHashing) {
         this.rsaKeys = rsaKeys;
+        this.passwordHashing = passwordHashing;
     }
 
     @Bean
@@ -65,20 +76,40 @@ public class SecurityConfig {
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
                 .sessionManagement(s -> s.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
-                .httpBasic(Customizer.withDefaults())
+                .httpBasic(basic -> basic.authenticationEntryPoint(basicAuthenticationEntryPoint()))
                 .cors(cors -> cors.configurationSource(corsConfigurationSource()))
                 .build();
     }
 
+    // Hashing runs on its own bounded pool, see BoundedPasswordEncoder
     @Bean
-    @SuppressWarnings("deprecation")
-    public PasswordEncoder passwordEncoder() {
-        return NoOpPasswordEncoder.getInstance(); // No hashing
+    public PasswordEncoder passwordEncoder(MeterRegistry meterRegistry) {
+        PasswordHashingProperties.Hashing hashing = passwordHashing.hashing();
+        return new BoundedPasswordEncoder(PasswordHashing.encoder(passwordHashing),
+                hashing.threads(), hashing.queueCapacity(), hashing.timeout(), meterRegistry);
+    }
+
+    // Login gets a 503 with Retry-After instead of a 401 when hashing is saturated
+    private static AuthenticationEntryPoint basicAuthenticationEntryPoint() {
+        BasicAuthenticationEntryPoint basic = new BasicAuthenticationEntryPoint();
+        basic.setRealmName("Realm");
+        return (request, response, authException) -> {
+            if (authException instanceof PasswordHashingBusyException) {
+                response.setHeader("Retry-After", "1");
+                response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE, authException.getMessage());
+                return;
+            }
+            basic.commence(request, response, authException);
+        };
     }
 
+    // Already-verified tokens skip the RSA signature check, see CachingJwtDecoder
     @Bean
-    JwtDecoder jwtDecoder() {
-        return NimbusJwtDecoder.withPublicKey(rsaKeys.publicKey()).build();
+    JwtDecoder jwtDecoder(MeterRegistry meterRegistry,
+            @Value("${app.cache.jwts.max-size:10000}") long maxSize,
+            @Value("${app.cache.jwts.ttl:10m}") Duration ttl) {
+        return new CachingJwtDecoder(NimbusJwtDecoder.withPublicKey(rsaKeys.publicKey()).build(),
+                maxSize, ttl, meterRegistry);
     }
 
     @Bean
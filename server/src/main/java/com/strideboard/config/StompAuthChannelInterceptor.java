@@ -0,0 +1,42 @@
+package com.strideboard.config;
+
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Authenticates STOMP CONNECT frames with the same bearer token the REST API uses,
+ * so /user destinations resolve to the JWT subject (email).
+ * Connections without a token stay anonymous and only receive project topics.
+ */
+@Component
+@RequiredArgsConstructor
+public class StompAuthChannelInterceptor implements ChannelInterceptor {
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final JwtDecoder jwtDecoder;
+    private final JwtAuthenticationConverter authenticationConverter = new JwtAuthenticationConverter();
+
+    @Override
+    public Message<?> preSend(Message<?> message, MessageChannel channel) {
+        StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+        if (accessor == null || accessor.getCommand() != StompCommand.CONNECT) {
+            return message;
+        }
+
+        String header = accessor.getFirstNativeHeader("Authorization");
+        if (header != null && header.startsWith(BEARER_PREFIX)) {
+            // An invalid token throws and the client receives an ERROR frame
+            accessor.setUser(authenticationConverter.convert(jwtDecoder.decode(header.substring(BEARER_PREFIX.length()))));
+        }
+        return message;
+    }
+}
@@ -0,0 +1,35 @@
+package com.strideboard.data.notification;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.UUID;
+
+/**
+ * One inbox row with its workspace/project names and recipient already joined in.
+ */
+public record InboxEntry(
+        UUID id,
+        NotificationType type,
+        String workspaceName,
+        String projectName,
+        String subtitle,
+        int updateCount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID recipientId,
+        String recipientEmail) {
+
+    private static final DateTimeFormatter TIME_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+
+    public InboxItem toInboxItem() {
+        return InboxItem.builder()
+                .id(id)
+                .type(type.name().toLowerCase())
+                .workspaceName(workspaceName)
+                .projectName(projectName)
+                .subtitle(subtitle)
+                .updateCount(updateCount)
+                .time((updatedAt != null ? updatedAt : createdAt).format(TIME_FORMAT))
+                .build();
+    }
+}
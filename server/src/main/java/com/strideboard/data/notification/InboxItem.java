@@ -13,6 +13,7 @@ public class InboxItem {
     private String workspaceName;
     private String projectName; // can be null for invites
     private String subtitle;
+    private int updateCount; // > 1 when repeated updates were digested into this item
     private String time; 
 }
 
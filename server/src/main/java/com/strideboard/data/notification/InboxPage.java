@@ -0,0 +1,7 @@
+package com.strideboard.data.notification;
+
+import java.util.List;
+
+// One page of the inbox, newest first; nextCursor is null on the last page
+public record InboxPage(List<InboxItem> items, String nextCursor) {
+}
@@ -0,0 +1,11 @@
+package com.strideboard.data.notification;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Pushed to /user/queue/notifications. item is set for a new notification and
+ * omitted when only the unread count changed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record InboxUpdate(InboxItem item, long unreadCount) {
+}
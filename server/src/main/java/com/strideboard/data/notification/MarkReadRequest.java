@@ -0,0 +1,11 @@
+package com.strideboard.data.notification;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Bulk mark-read: either an explicit set of ids, or an inbox cursor meaning
+ * "this notification and everything older".
+ */
+public record MarkReadRequest(List<UUID> ids, String upTo) {
+}
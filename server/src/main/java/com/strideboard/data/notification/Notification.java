@@ -3,9 +3,11 @@ package com.strideboard.data.notification;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
 import org.hibernate.annotations.OnDelete;
 import org.hibernate.annotations.OnDeleteAction;
+import org.hibernate.annotations.UpdateTimestamp;
 
 import com.strideboard.data.user.User;
 import com.strideboard.data.workitem.WorkItem;
@@ -29,6 +31,7 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// Indexes are defined in db/migration
 @Table(name = "notifications")
 @Getter
 @Setter
@@ -65,6 +68,17 @@ public class Notification {
     @Column(nullable = false)
     private String subtitle;
 
+    // How many edits this row stands for; repeated "Task Updated" notifications are digested into one
+    @Column(name = "update_count", nullable = false)
+    @ColumnDefault("1")
+    @Builder.Default
+    private int updateCount = 1;
+
+    // First written; fixed, since it anchors the digest window and orders the inbox
     @CreationTimestamp
     private LocalDateTime createdAt;
+
+    // Latest update folded into this row, shown as the notification's time
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
 }
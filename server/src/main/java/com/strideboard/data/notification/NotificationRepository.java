@@ -1,13 +1,97 @@
 package com.strideboard.data.notification;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface NotificationRepository extends JpaRepository<Notification, UUID> {
-    // Fetch notifications for a specific user, ordered by most recent
-    List<Notification> findByRecipientIdOrderByCreatedAtDesc(UUID recipientId);
+    // Which of the given users already have an unanswered invite to the workspace
+    @Query("""
+            SELECT n.recipient.id FROM Notification n
+            WHERE n.workspace.id = :workspaceId
+              AND n.type = com.strideboard.data.notification.NotificationType.INVITE
+              AND n.recipient.id IN :recipientIds
+            """)
+    List<UUID> findPendingInviteRecipientIds(@Param("workspaceId") UUID workspaceId,
+            @Param("recipientIds") Collection<UUID> recipientIds);
 
-    boolean existsByRecipientIdAndWorkspaceIdAndType(UUID recipientId, UUID workspaceId, NotificationType type);
+    long countByRecipientId(UUID recipientId);
+
+    // Scoped to the recipient so users can only remove their own notifications
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM Notification n WHERE n.id = :id AND n.recipient.id = :recipientId")
+    int deleteByIdAndRecipientId(@Param("id") UUID id, @Param("recipientId") UUID recipientId);
+
+    // Bulk mark-read. Invites are left alone: they need an explicit accept or reject
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM Notification n
+            WHERE n.recipient.id = :recipientId
+              AND n.id IN :ids
+              AND n.type <> com.strideboard.data.notification.NotificationType.INVITE
+            """)
+    int deleteReadByRecipientIdAndIdIn(@Param("recipientId") UUID recipientId,
+            @Param("ids") Collection<UUID> ids);
+
+    // Everything at or after the cursor position in the newest-first inbox, i.e. the cursor row and older
+    @Modifying
+    @Transactional
+    @Query("""
+            DELETE FROM Notification n
+            WHERE n.recipient.id = :recipientId
+              AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id <= :id))
+              AND n.type <> com.strideboard.data.notification.NotificationType.INVITE
+            """)
+    int deleteReadByRecipientIdUpTo(@Param("recipientId") UUID recipientId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id);
+
+    // Recipients losing notifications when a work item, project or workspace is deleted
+    @Query("SELECT DISTINCT n.recipient.id FROM Notification n WHERE n.workItem.id = :workItemId")
+    List<UUID> findRecipientIdsByWorkItemId(@Param("workItemId") UUID workItemId);
+
+    @Query("SELECT DISTINCT n.recipient.id FROM Notification n WHERE n.workItem.id IN :workItemIds")
+    List<UUID> findRecipientIdsByWorkItemIdIn(@Param("workItemIds") Collection<UUID> workItemIds);
+
+    @Query("SELECT DISTINCT n.recipient.id FROM Notification n WHERE n.workItem.project.id = :projectId")
+    List<UUID> findRecipientIdsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query("SELECT DISTINCT n.recipient.id FROM Notification n WHERE n.workspace.id = :workspaceId")
+    List<UUID> findRecipientIdsByWorkspaceId(@Param("workspaceId") UUID workspaceId);
+
+    // Inbox rows with workspace/project names and recipient joined in, so no lazy loads per row
+    String INBOX_SELECT = """
+            SELECT new com.strideboard.data.notification.InboxEntry(
+                n.id, n.type, ws.name, p.name, n.subtitle, n.updateCount, n.createdAt, n.updatedAt, r.id, r.email)
+            FROM Notification n
+            JOIN n.recipient r
+            JOIN n.workspace ws
+            LEFT JOIN n.workItem wi
+            LEFT JOIN wi.project p
+            """;
+
+    @Query(INBOX_SELECT + "WHERE n.id IN :ids")
+    List<InboxEntry> findInboxEntriesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    // Newest first; pass Limit.unlimited() for the whole inbox
+    @Query(INBOX_SELECT + "WHERE r.id = :recipientId ORDER BY n.createdAt DESC, n.id DESC")
+    List<InboxEntry> findInbox(@Param("recipientId") UUID recipientId, Limit limit);
+
+    // Keyset continuation: rows strictly older than (createdAt, id)
+    @Query(INBOX_SELECT + """
+            WHERE r.id = :recipientId
+              AND (n.createdAt < :createdAt OR (n.createdAt = :createdAt AND n.id < :id))
+            ORDER BY n.createdAt DESC, n.id DESC
+            """)
+    List<InboxEntry> findInboxBefore(@Param("recipientId") UUID recipientId,
+            @Param("createdAt") LocalDateTime createdAt, @Param("id") UUID id, Limit limit);
 }
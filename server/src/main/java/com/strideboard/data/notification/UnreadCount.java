@@ -0,0 +1,4 @@
+package com.strideboard.data.notification;
+
+public record UnreadCount(long count) {
+}
@@ -0,0 +1,11 @@
+package com.strideboard.data.user;
+
+import java.util.UUID;
+
+// Lightweight identity resolved from the JWT subject, cached between requests
+public record AuthenticatedUser(UUID id, String email, String fullName) {
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getFullName());
+    }
+}
@@ -36,7 +36,7 @@ public class User {
     private String email;
 
     @Column(nullable = false)
-    private String password; // Plain text for now
+    private String password; // "{id}hash" from the PasswordEncoder; plain text for accounts not yet upgraded
 
     private String fullName;
 
@@ -1,7 +1,13 @@
 package com.strideboard.data.user;
 
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -9,5 +15,64 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
-    List<User> findByEmailContainingIgnoreCase(String email);
+    // Re-hash on login: one UPDATE, without loading the entity
+    @Modifying
+    @Transactional
+    @Query("UPDATE User u SET u.password = :password WHERE u.email = :email")
+    int updatePasswordByEmail(@Param("email") String email, @Param("password") String password);
+
+    // Email search, first pass: prefix matches, a range scan on idx_users_email_prefix
+    @Query("""
+            SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName)
+            FROM User u
+            WHERE LOWER(u.email) LIKE :prefix ESCAPE '\\' AND u.id <> :excludeId
+            ORDER BY LOWER(u.email)
+            """)
+    List<UserSummary> searchByEmailPrefix(@Param("prefix") String prefix, @Param("excludeId") UUID excludeId,
+            Limit limit);
+
+    // Second pass: matches elsewhere in the email, through the trigram index idx_users_email_trgm
+    @Query("""
+            SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName)
+            FROM User u
+            WHERE LOWER(u.email) LIKE :pattern ESCAPE '\\' AND LOWER(u.email) NOT LIKE :prefix ESCAPE '\\'
+              AND u.id <> :excludeId
+            ORDER BY LOWER(u.email)
+            """)
+    List<UserSummary> searchByEmailContaining(@Param("pattern") String pattern, @Param("prefix") String prefix,
+            @Param("excludeId") UUID excludeId, Limit limit);
+
+    // Workspace invite search: the same two passes, skipping members with an anti-join
+    @Query("""
+            SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName)
+            FROM User u
+            WHERE LOWER(u.email) LIKE :prefix ESCAPE '\\'
+              AND NOT EXISTS (SELECT 1 FROM Membership m WHERE m.user = u AND m.workspace.id = :workspaceId)
+            ORDER BY LOWER(u.email)
+            """)
+    List<UserSummary> searchByEmailPrefixNotInWorkspace(@Param("prefix") String prefix,
+            @Param("workspaceId") UUID workspaceId, Limit limit);
+
+    @Query("""
+            SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName)
+            FROM User u
+            WHERE LOWER(u.email) LIKE :pattern ESCAPE '\\' AND LOWER(u.email) NOT LIKE :prefix ESCAPE '\\'
+              AND NOT EXISTS (SELECT 1 FROM Membership m WHERE m.user = u AND m.workspace.id = :workspaceId)
+            ORDER BY LOWER(u.email)
+            """)
+    List<UserSummary> searchByEmailContainingNotInWorkspace(@Param("pattern") String pattern,
+            @Param("prefix") String prefix, @Param("workspaceId") UUID workspaceId, Limit limit);
+
+    @Query("SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName) FROM User u")
+    List<UserSummary> findAllSummaries();
+
+    @Query("""
+            SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName)
+            FROM User u WHERE u.email IN :emails
+            """)
+    List<UserSummary> findSummariesByEmailIn(@Param("emails") Collection<String> emails);
+
+    // Ids only, for resolving a whole invite list in one query
+    @Query("SELECT u.id FROM User u WHERE u.email IN :emails")
+    List<UUID> findIdsByEmailIn(@Param("emails") Collection<String> emails);
 }
\ No newline at end of file
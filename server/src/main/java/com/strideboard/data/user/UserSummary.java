@@ -0,0 +1,12 @@
+package com.strideboard.data.user;
+
+import java.util.UUID;
+
+// Public part of a user embedded in read models (never the password)
+public record UserSummary(UUID id, String email, String fullName) {
+
+    // Null-safe factory for optional associations such as the assignee
+    public static UserSummary of(UUID id, String email, String fullName) {
+        return id != null ? new UserSummary(id, email, fullName) : null;
+    }
+}
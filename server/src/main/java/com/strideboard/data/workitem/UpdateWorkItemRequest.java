@@ -1,7 +1,14 @@
 package com.strideboard.data.workitem;
 
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.UUID;
 
+/**
+ * Partial update. When version is given, the update only applies to that version of the
+ * item; with merge set, an older version is still accepted as long as none of the fields
+ * sent here were changed since.
+ */
 public record UpdateWorkItemRequest(
         String title,
         String description,
@@ -10,5 +17,42 @@ public record UpdateWorkItemRequest(
         WorkItemType type,
         UUID assigneeId,
         Double position,
-        Boolean removeAssignee) {
+        Boolean removeAssignee,
+        Long version,
+        Boolean merge) {
+
+    private static final Set<String> PLACEMENT_FIELDS = Set.of("status", "position", "assignee");
+
+    // Moves and (un)assignments, most of the board's writes, which can skip loading the entity
+    public boolean isPlacementOnly() {
+        Set<String> fields = fields();
+        return !fields.isEmpty() && PLACEMENT_FIELDS.containsAll(fields);
+    }
+
+    // JSON names of the fields this request writes, matching WorkItemPatch
+    public Set<String> fields() {
+        Set<String> fields = new LinkedHashSet<>();
+        if (title != null && !title.isBlank()) {
+            fields.add("title");
+        }
+        if (description != null) {
+            fields.add("description");
+        }
+        if (status != null) {
+            fields.add("status");
+        }
+        if (priority != null) {
+            fields.add("priority");
+        }
+        if (type != null) {
+            fields.add("type");
+        }
+        if (position != null) {
+            fields.add("position");
+        }
+        if (assigneeId != null || Boolean.TRUE.equals(removeAssignee)) {
+            fields.add("assignee");
+        }
+        return fields;
+    }
 }
@@ -3,7 +3,9 @@ package com.strideboard.data.workitem;
 import java.time.LocalDateTime;
 import java.util.UUID;
 
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.DynamicUpdate;
 import org.hibernate.annotations.UpdateTimestamp;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
@@ -22,6 +24,7 @@ import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
@@ -29,7 +32,10 @@ import lombok.NoArgsConstructor;
 import lombok.Setter;
 
 @Entity
+// Indexes are defined in db/migration
 @Table(name = "work_items")
+// Entity saves write only the dirty columns, so a title edit does not rewrite the description
+@DynamicUpdate
 @Getter
 @Setter
 @NoArgsConstructor
@@ -75,6 +81,12 @@ public class WorkItem {
     @UpdateTimestamp
     private LocalDateTime updatedAt;
 
+    // Optimistic locking: bumped on every update, a PATCH based on an older version gets a 409
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private long version;
+
     // Relations
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
@@ -0,0 +1,26 @@
+package com.strideboard.data.workitem;
+
+import java.util.UUID;
+
+/**
+ * Result of the single-statement hierarchy check for work-item endpoints: the
+ * workspace owning the project and the project owning the work item (each null
+ * when absent). The caller's role is checked first, against MembershipCache.
+ */
+public interface WorkItemAccess {
+    UUID getProjectWorkspaceId();
+
+    UUID getItemProjectId();
+
+    default boolean projectInWorkspace(UUID workspaceId) {
+        return workspaceId.equals(getProjectWorkspaceId());
+    }
+
+    default boolean itemExists() {
+        return getItemProjectId() != null;
+    }
+
+    default boolean itemInProject(UUID projectId) {
+        return projectId.equals(getItemProjectId());
+    }
+}
@@ -0,0 +1,5 @@
+package com.strideboard.data.workitem;
+
+// Number of items each kind of operation touched
+public record WorkItemBatchResult(int moved, int assigned, int deleted) {
+}
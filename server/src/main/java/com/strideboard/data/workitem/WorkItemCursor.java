@@ -0,0 +1,34 @@
+package com.strideboard.data.workitem;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Keyset position in the (status, position, id) ordering of a project's work items.
+ * Sent to clients as an opaque url-safe token.
+ */
+public record WorkItemCursor(WorkItemStatus status, double position, UUID id) {
+
+    public static WorkItemCursor of(WorkItemView item) {
+        return new WorkItemCursor(item.status(), item.position(), item.id());
+    }
+
+    public String encode() {
+        String raw = status.name() + "|" + position + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Throws IllegalArgumentException for tokens that were not produced by encode()
+    public static WorkItemCursor decode(String token) {
+        String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+        String[] parts = raw.split("\\|");
+        if (parts.length != 3) {
+            throw new IllegalArgumentException("Malformed cursor");
+        }
+        return new WorkItemCursor(
+                WorkItemStatus.valueOf(parts[0]),
+                Double.parseDouble(parts[1]),
+                UUID.fromString(parts[2]));
+    }
+}
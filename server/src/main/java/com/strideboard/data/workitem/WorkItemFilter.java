@@ -0,0 +1,12 @@
+package com.strideboard.data.workitem;
+
+import java.util.UUID;
+
+// Server-side filters for the paginated work-item listing, null means "any"
+public record WorkItemFilter(
+        UUID projectId,
+        WorkItemStatus status,
+        UUID assigneeId,
+        WorkItemPriority priority,
+        WorkItemType type) {
+}
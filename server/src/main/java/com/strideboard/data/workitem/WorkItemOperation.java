@@ -0,0 +1,27 @@
+package com.strideboard.data.workitem;
+
+import java.util.UUID;
+
+/**
+ * One step of a bulk work-item request.
+ * MOVE sets status and/or position, ASSIGN sets the assignee (null unassigns),
+ * DELETE removes the item.
+ */
+public record WorkItemOperation(
+        Kind op,
+        UUID workItemId,
+        WorkItemStatus status,
+        Double position,
+        UUID assigneeId) {
+
+    public enum Kind {
+        MOVE, ASSIGN, DELETE
+    }
+
+    public boolean isValid() {
+        if (op == null || workItemId == null) {
+            return false;
+        }
+        return op != Kind.MOVE || status != null || position != null;
+    }
+}
@@ -0,0 +1,11 @@
+package com.strideboard.data.workitem;
+
+import java.util.List;
+
+public interface WorkItemPageRepository {
+    /**
+     * Keyset page ordered by (status, position, id), starting strictly after the cursor.
+     * Only the filters that are set end up in the SQL so the composite indexes stay usable.
+     */
+    List<WorkItemView> findPage(WorkItemFilter filter, WorkItemCursor after, int limit);
+}
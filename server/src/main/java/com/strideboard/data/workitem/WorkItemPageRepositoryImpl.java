@@ -0,0 +1,101 @@
+package com.strideboard.data.workitem;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+
+public class WorkItemPageRepositoryImpl implements WorkItemPageRepository {
+
+    // Column order must match toView()
+    private static final String SELECT = """
+            SELECT w.id, w.title, w.description, w.status, w.priority, w.type, w.position,
+                   w.created_at, w.updated_at, w.project_id,
+                   a.id, a.email, a.full_name,
+                   c.id, c.email, c.full_name,
+                   w.version
+            FROM work_items w
+            LEFT JOIN users a ON a.id = w.assignee_id
+            JOIN users c ON c.id = w.creator_id
+            WHERE w.project_id = :projectId""";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<WorkItemView> findPage(WorkItemFilter filter, WorkItemCursor after, int limit) {
+        StringBuilder sql = new StringBuilder(SELECT);
+        Map<String, Object> params = new LinkedHashMap<>();
+        params.put("projectId", filter.projectId());
+
+        if (filter.status() != null) {
+            sql.append(" AND w.status = :status");
+            params.put("status", filter.status().name());
+        }
+        if (filter.assigneeId() != null) {
+            sql.append(" AND w.assignee_id = :assigneeId");
+            params.put("assigneeId", filter.assigneeId());
+        }
+        if (filter.priority() != null) {
+            sql.append(" AND w.priority = :priority");
+            params.put("priority", filter.priority().name());
+        }
+        if (filter.type() != null) {
+            sql.append(" AND w.type = :type");
+            params.put("type", filter.type().name());
+        }
+
+        // Row comparison lets Postgres seek straight into (project_id, status, position, id)
+        if (after != null) {
+            sql.append(" AND (w.status, w.position, w.id) > (:afterStatus, :afterPosition, :afterId)");
+            params.put("afterStatus", after.status().name());
+            params.put("afterPosition", after.position());
+            params.put("afterId", after.id());
+        }
+
+        sql.append(" ORDER BY w.status, w.position, w.id LIMIT :limit");
+        params.put("limit", limit);
+
+        Query query = entityManager.createNativeQuery(sql.toString());
+        params.forEach(query::setParameter);
+
+        List<Object[]> rows = query.getResultList();
+        return rows.stream().map(WorkItemPageRepositoryImpl::toView).toList();
+    }
+
+    private static WorkItemView toView(Object[] row) {
+        return new WorkItemView(
+                (UUID) row[0],
+                (String) row[1],
+                (String) row[2],
+                WorkItemStatus.valueOf((String) row[3]),
+                WorkItemPriority.valueOf((String) row[4]),
+                WorkItemType.valueOf((String) row[5]),
+                ((Number) row[6]).doubleValue(),
+                toLocalDateTime(row[7]),
+                toLocalDateTime(row[8]),
+                (UUID) row[9],
+                (UUID) row[10],
+                (String) row[11],
+                (String) row[12],
+                (UUID) row[13],
+                (String) row[14],
+                (String) row[15],
+                ((Number) row[16]).longValue());
+    }
+
+    // Native scalars may come back as java.sql.Timestamp depending on the driver mapping
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+}
@@ -0,0 +1,7 @@
+package com.strideboard.data.workitem;
+
+import java.util.UUID;
+
+// Just enough of a work item to validate and notify on a bulk operation
+public record WorkItemRef(UUID id, String title, WorkItemStatus status, UUID assigneeId) {
+}
@@ -1,19 +1,107 @@
 package com.strideboard.data.workitem;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.strideboard.data.user.User;
 
 @Repository
-public interface WorkItemRepository extends JpaRepository<WorkItem, UUID> {
+public interface WorkItemRepository extends JpaRepository<WorkItem, UUID>, WorkItemPageRepository {
+    // Shared projection: item columns plus assignee/creator summaries in one join
+    String VIEW_SELECT = """
+            SELECT new com.strideboard.data.workitem.WorkItemView(
+                w.id, w.title, w.description, w.status, w.priority, w.type, w.position,
+                w.createdAt, w.updatedAt, w.project.id,
+                a.id, a.email, a.fullName,
+                c.id, c.email, c.fullName,
+                w.version)
+            FROM WorkItem w
+            LEFT JOIN w.assignee a
+            JOIN w.creator c
+            """;
+
     List<WorkItem> findByProjectId(UUID projectId);
 
     List<WorkItem> findByProject_IdOrderByPositionAsc(UUID projectId);
 
-    @Query("SELECT MAX(w.position) FROM WorkItem w WHERE w.project.id = :projectId")
-    Double findMaxPositionByProjectId(@Param("projectId") UUID projectId);
+    @Query(VIEW_SELECT + "WHERE w.project.id = :projectId ORDER BY w.position ASC")
+    List<WorkItemView> findViewsByProjectId(@Param("projectId") UUID projectId);
+
+    @Query(VIEW_SELECT + "WHERE w.id = :id")
+    Optional<WorkItemView> findViewById(@Param("id") UUID id);
+
+    // Existence, title and current assignee for the targets of a bulk request
+    @Query("""
+            SELECT new com.strideboard.data.workitem.WorkItemRef(w.id, w.title, w.status, a.id)
+            FROM WorkItem w
+            LEFT JOIN w.assignee a
+            WHERE w.project.id = :projectId AND w.id IN :ids
+            """)
+    List<WorkItemRef> findRefsByProjectIdAndIdIn(@Param("projectId") UUID projectId,
+            @Param("ids") Collection<UUID> ids);
+
+    @Query("""
+            SELECT new com.strideboard.data.workitem.WorkItemState(w.id, w.title, w.status, w.position, a.id, w.version)
+            FROM WorkItem w
+            LEFT JOIN w.assignee a
+            WHERE w.id = :id
+            """)
+    Optional<WorkItemState> findStateById(@Param("id") UUID id);
+
+    /**
+     * Narrow write for board drags and (un)assignments: touches only these columns, so
+     * the entity (and its TOASTed description) is never loaded or rewritten. Conditional
+     * on the version, like the @Version check of an entity save; returns 0 on a conflict.
+     * Values passed through unchanged compare equal, so Postgres skips their index updates.
+     */
+    @Modifying
+    @Transactional
+    @Query("""
+            UPDATE WorkItem w
+            SET w.status = :status, w.position = :position, w.assignee = :assignee,
+                w.updatedAt = :updatedAt, w.version = w.version + 1
+            WHERE w.id = :id AND w.version = :version
+            """)
+    int updatePlacement(@Param("id") UUID id,
+            @Param("version") long version,
+            @Param("status") WorkItemStatus status,
+            @Param("position") Double position,
+            @Param("assignee") User assignee,
+            @Param("updatedAt") LocalDateTime updatedAt);
+
+    // Project hierarchy in one round trip (always returns one row); the role comes from MembershipCache
+    @Query(value = """
+            SELECT
+                (SELECT p.workspace_id FROM projects p
+                  WHERE p.id = :projectId) AS "projectWorkspaceId",
+                CAST(NULL AS uuid) AS "itemProjectId"
+            """, nativeQuery = true)
+    WorkItemAccess findProjectAccess(@Param("projectId") UUID projectId);
+
+    // Same as findProjectAccess, plus the project the work item belongs to
+    @Query(value = """
+            SELECT
+                (SELECT p.workspace_id FROM projects p
+                  WHERE p.id = :projectId) AS "projectWorkspaceId",
+                (SELECT w.project_id FROM work_items w
+                  WHERE w.id = :workItemId) AS "itemProjectId"
+            """, nativeQuery = true)
+    WorkItemAccess findWorkItemAccess(@Param("projectId") UUID projectId,
+            @Param("workItemId") UUID workItemId);
+
+    // Notifications cascade at the database level (@OnDelete), so no entity load is needed
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM WorkItem w WHERE w.id = :id")
+    int deleteWorkItemById(@Param("id") UUID id);
 }
@@ -0,0 +1,8 @@
+package com.strideboard.data.workitem;
+
+import java.util.UUID;
+
+// Pre-image for a move or (un)assignment: everything the PATCH checks, without the TEXT description
+public record WorkItemState(UUID id, String title, WorkItemStatus status, Double position, UUID assigneeId,
+        long version) {
+}
@@ -0,0 +1,40 @@
+package com.strideboard.data.workitem;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import com.strideboard.data.user.UserSummary;
+
+/**
+ * Read model returned by the work-item endpoints and WebSocket events.
+ * Built by a single constructor-expression query so assignee and creator
+ * never go through lazy proxies.
+ */
+public record WorkItemView(
+        UUID id,
+        String title,
+        String description,
+        WorkItemStatus status,
+        WorkItemPriority priority,
+        WorkItemType type,
+        Double position,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt,
+        UUID projectId,
+        UserSummary assignee,
+        UserSummary creator,
+        long version) {
+
+    // Flat constructor used by the JPQL "SELECT new ..." expression
+    public WorkItemView(UUID id, String title, String description, WorkItemStatus status,
+            WorkItemPriority priority, WorkItemType type, Double position,
+            LocalDateTime createdAt, LocalDateTime updatedAt, UUID projectId,
+            UUID assigneeId, String assigneeEmail, String assigneeName,
+            UUID creatorId, String creatorEmail, String creatorName,
+            long version) {
+        this(id, title, description, status, priority, type, position, createdAt, updatedAt, projectId,
+                UserSummary.of(assigneeId, assigneeEmail, assigneeName),
+                UserSummary.of(creatorId, creatorEmail, creatorName),
+                version);
+    }
+}
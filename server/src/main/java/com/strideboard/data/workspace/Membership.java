@@ -22,6 +22,7 @@ import lombok.Setter;
 @Entity
 @NoArgsConstructor
 @AllArgsConstructor
+// One row per (user, workspace): unique index uk_membership_user_workspace in db/migration
 public class Membership {
 @Id
     @GeneratedValue(strategy = GenerationType.UUID)
@@ -1,10 +1,15 @@
 package com.strideboard.data.workspace;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.strideboard.data.user.UserSummary;
 
 public interface MembershipRepository extends JpaRepository<Membership, UUID> {
     List<Membership> findByUserId(UUID userId);
@@ -13,5 +18,29 @@ public interface MembershipRepository extends JpaRepository<Membership, UUID> {
 
     Optional<Membership> findByUserIdAndWorkspaceId(UUID userId, UUID workspaceId);
 
+    // Role only, without loading the eager user/workspace associations
+    @Query("SELECT m.role FROM Membership m WHERE m.user.id = :userId AND m.workspace.id = :workspaceId")
+    Optional<String> findRoleByUserIdAndWorkspaceId(@Param("userId") UUID userId,
+            @Param("workspaceId") UUID workspaceId);
+
     List<Membership> findByWorkspaceId(UUID workspaceId);
+
+    // Ids only, answered from the (workspace_id, user_id) index without touching users
+    @Query("SELECT m.user.id FROM Membership m WHERE m.workspace.id = :workspaceId")
+    List<UUID> findUserIdsByWorkspaceId(@Param("workspaceId") UUID workspaceId);
+
+    // Which of the given users already belong to the workspace
+    @Query("SELECT m.user.id FROM Membership m WHERE m.workspace.id = :workspaceId AND m.user.id IN :userIds")
+    List<UUID> findUserIdsByWorkspaceIdAndUserIdIn(@Param("workspaceId") UUID workspaceId,
+            @Param("userIds") Collection<UUID> userIds);
+
+    // Same, with the summaries embedded in work-item events
+    @Query("""
+            SELECT new com.strideboard.data.user.UserSummary(u.id, u.email, u.fullName)
+            FROM Membership m
+            JOIN m.user u
+            WHERE m.workspace.id = :workspaceId AND u.id IN :userIds
+            """)
+    List<UserSummary> findMemberSummaries(@Param("workspaceId") UUID workspaceId,
+            @Param("userIds") Collection<UUID> userIds);
 }
@@ -3,20 +3,25 @@ package com.strideboard.notification;
 import java.util.List;
 import java.util.UUID;
 
-import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
-import org.springframework.web.server.ResponseStatusException;
 
+import com.strideboard.auth.PrincipalCache;
+import com.strideboard.data.notification.InboxCursor;
 import com.strideboard.data.notification.InboxItem;
-import com.strideboard.data.user.User;
-import com.strideboard.data.user.UserRepository;
+import com.strideboard.data.notification.InboxPage;
+import com.strideboard.data.notification.MarkReadRequest;
+import com.strideboard.data.notification.MarkReadResult;
+import com.strideboard.data.notification.UnreadCount;
+import com.strideboard.data.user.AuthenticatedUser;
 
 import lombok.RequiredArgsConstructor;
 
@@ -25,50 +30,104 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class NotificationController {
     private final NotificationService notificationService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BULK_IDS = 1000;
 
     @GetMapping
     public ResponseEntity<List<InboxItem>> getNotifications(Authentication authentication) {
-        String email = authentication.getName();
+        AuthenticatedUser user = principalCache.resolve(authentication);
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+        return ResponseEntity.ok(notificationService.getUserNotifications(user.id()));
+    }
 
-        return ResponseEntity.ok(notificationService.getUserNotifications(user.getId()));
+    /**
+     * Keyset-paginated inbox, newest first.
+     * Path: GET /api/notifications/page?limit=20&cursor=...
+     */
+    @GetMapping("/page")
+    public ResponseEntity<InboxPage> getNotificationsPage(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            Authentication authentication) {
+        AuthenticatedUser user = principalCache.resolve(authentication);
+
+        InboxCursor before = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                before = InboxCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        return ResponseEntity.ok(notificationService.getInboxPage(user.id(), before, pageSize));
     }
 
     // Mark Read
     @DeleteMapping("/{id}/read")
-    public ResponseEntity<Void> markRead(@PathVariable UUID id) {
-        notificationService.markAsRead(id);
+    public ResponseEntity<Void> markRead(@PathVariable UUID id, Authentication authentication) {
+        notificationService.markAsRead(id, principalCache.resolve(authentication));
         return ResponseEntity.noContent().build();
     }
 
+    /**
+     * Bulk mark-read in a single DELETE, by id set or up to an inbox cursor.
+     * Path: POST /api/notifications/read
+     */
+    @PostMapping("/read")
+    public ResponseEntity<MarkReadResult> markReadBulk(@RequestBody MarkReadRequest request,
+            Authentication authentication) {
+        boolean byIds = request.ids() != null && !request.ids().isEmpty();
+        boolean byCursor = request.upTo() != null && !request.upTo().isBlank();
+        if (byIds == byCursor || (byIds && request.ids().size() > MAX_BULK_IDS)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        AuthenticatedUser user = principalCache.resolve(authentication);
+        if (byIds) {
+            return ResponseEntity.ok(new MarkReadResult(notificationService.markAsRead(request.ids(), user)));
+        }
+
+        InboxCursor upTo;
+        try {
+            upTo = InboxCursor.decode(request.upTo());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(new MarkReadResult(notificationService.markAsReadUpTo(upTo, user)));
+    }
+
     // Accept Invite
     @PostMapping("/{id}/accept")
-    public ResponseEntity<Void> acceptInvite(@PathVariable UUID id) {
-        notificationService.acceptInvite(id);
+    public ResponseEntity<Void> acceptInvite(@PathVariable UUID id, Authentication authentication) {
+        notificationService.acceptInvite(id, principalCache.resolve(authentication));
         return ResponseEntity.ok().build();
     }
 
     // Reject Invite
     @DeleteMapping("/{id}/reject")
-    public ResponseEntity<Void> rejectInvite(@PathVariable UUID id) {
-        notificationService.rejectInvite(id);
+    public ResponseEntity<Void> rejectInvite(@PathVariable UUID id, Authentication authentication) {
+        notificationService.rejectInvite(id, principalCache.resolve(authentication));
         return ResponseEntity.noContent().build();
     }
 
+    // Number of unread notifications, served from the in-memory counter
+    @GetMapping("/unread-count")
+    public ResponseEntity<UnreadCount> getUnreadCount(Authentication authentication) {
+        AuthenticatedUser user = principalCache.resolve(authentication);
+
+        return ResponseEntity.ok(new UnreadCount(notificationService.getUnreadCount(user.id())));
+    }
+
     // Check if notifications exist
     @GetMapping("/has-unread")
     public ResponseEntity<Boolean> hasNotifications(Authentication authentication) {
-        String email = authentication.getName();
-
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-
-        boolean hasNotifications = !notificationService.getUserNotifications(user.getId()).isEmpty();
+        AuthenticatedUser user = principalCache.resolve(authentication);
 
-        return ResponseEntity.ok(hasNotifications);
+        return ResponseEntity.ok(notificationService.getUnreadCount(user.id()) > 0);
     }
 
 }
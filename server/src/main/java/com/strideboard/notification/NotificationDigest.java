@@ -0,0 +1,43 @@
+package com.strideboard.notification;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Collapses repeated work-item updates for the same recipient into one notification.
+ */
+public final class NotificationDigest {
+
+    private NotificationDigest() {
+    }
+
+    public record Key(UUID recipientId, UUID workItemId) {
+        public static Key of(PendingNotification notification) {
+            return new Key(notification.recipientId(), notification.workItemId());
+        }
+    }
+
+    /**
+     * Merges digestible notifications that share a (recipient, work item): the latest
+     * subtitle wins and the update counts add up. Others pass through untouched.
+     */
+    public static List<PendingNotification> collapse(List<PendingNotification> batch) {
+        Map<Key, PendingNotification> digested = new LinkedHashMap<>();
+        List<PendingNotification> result = new ArrayList<>(batch.size());
+
+        for (PendingNotification notification : batch) {
+            if (!notification.isDigestible()) {
+                result.add(notification);
+                continue;
+            }
+            digested.merge(Key.of(notification), notification,
+                    (earlier, later) -> later.withUpdateCount(earlier.updateCount() + later.updateCount()));
+        }
+
+        result.addAll(digested.values());
+        return result;
+    }
+}
@@ -0,0 +1,286 @@
+package com.strideboard.notification;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Writes notifications off the request thread.
+ *
+ * Requested notifications are queued after the originating transaction commits and
+ * drained by a small pool of workers, which write whatever has accumulated in one
+ * round trip and then push the result to the recipients. Each recipient always maps
+ * to the same worker, so their rows are never written concurrently.
+ *
+ * Repeated "Task Updated" notifications for the same (recipient, work item) are
+ * digested: first within the drained batch, then into an existing row created less
+ * than app.notifications.digest-window ago, which gets its update_count and updated_at
+ * raised. Only what is left is inserted. created_at never changes: the window is
+ * anchored on the row's first update, so an item edited all day still starts a new row
+ * every window, and inbox pages keyed on created_at never see a row jump between them.
+ *
+ * When a worker's queue is full the caller waits for space, which slows producers down
+ * instead of dropping work and keeps each recipient on a single writer. Only after
+ * shutdown does the caller write its own notifications. Every statement runs in its own
+ * transaction (REQUIRES_NEW), since callers arrive after their transaction has committed
+ * while it is still bound to the thread.
+ *
+ * Metrics: notifications.dispatch.queue.depth, .written, .digested (updates folded into
+ * an existing row), .blocked (the caller had to wait for queue space)
+ * and .failed (rows that could not be inserted).
+ */
+@Slf4j
+@Component
+public class NotificationDispatcher {
+    private static final String INSERT_SQL = """
+            INSERT INTO notifications (id, recipient_id, type, workspace_id, work_item_id, title, subtitle,
+                                       update_count, created_at, updated_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // One statement for the whole batch; returns the keys that found a row to fold into
+    private static final String DIGEST_SQL = """
+            UPDATE notifications n
+            SET update_count = n.update_count + d.update_count,
+                subtitle = d.subtitle,
+                updated_at = ?
+            FROM unnest(?::uuid[], ?::uuid[], ?::int[], ?::text[])
+                AS d(recipient_id, work_item_id, update_count, subtitle)
+            WHERE n.recipient_id = d.recipient_id
+              AND n.work_item_id = d.work_item_id
+              AND n.type = 'UPDATE'
+              AND n.title = ?
+              AND n.created_at > ?
+            RETURNING n.id, n.recipient_id, n.work_item_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final NotificationPusher pusher;
+    private final List<BlockingQueue<PendingNotification>> queues = new ArrayList<>();
+    private final int batchSize;
+    private final Duration digestWindow;
+    private final List<Thread> workers = new ArrayList<>();
+    private volatile boolean running = true;
+
+    private final Counter written;
+    private final Counter digested;
+    private final Counter blocked;
+    private final Counter failed;
+
+    public NotificationDispatcher(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            NotificationPusher pusher,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.dispatch.workers:2}") int workerCount,
+            @Value("${app.notifications.dispatch.queue-capacity:10000}") int queueCapacity,
+            @Value("${app.notifications.dispatch.batch-size:200}") int batchSize,
+            @Value("${app.notifications.digest-window:10m}") Duration digestWindow) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.pusher = pusher;
+        this.batchSize = batchSize;
+        this.digestWindow = digestWindow;
+
+        for (int i = 0; i < workerCount; i++) {
+            queues.add(new ArrayBlockingQueue<>(Math.max(1, queueCapacity / workerCount)));
+        }
+
+        Gauge.builder("notifications.dispatch.queue.depth", queues,
+                        all -> all.stream().mapToInt(BlockingQueue::size).sum())
+                .description("Notifications waiting to be written")
+                .register(meterRegistry);
+        this.written = Counter.builder("notifications.dispatch.written").register(meterRegistry);
+        this.digested = Counter.builder("notifications.dispatch.digested")
+                .description("Updates folded into an existing notification instead of a new row")
+                .register(meterRegistry);
+        this.blocked = Counter.builder("notifications.dispatch.blocked")
+                .description("Notifications whose producer had to wait for queue space")
+                .register(meterRegistry);
+        this.failed = Counter.builder("notifications.dispatch.failed").register(meterRegistry);
+
+        for (int i = 0; i < workerCount; i++) {
+            BlockingQueue<PendingNotification> queue = queues.get(i);
+            workers.add(Thread.ofPlatform().name("notification-dispatch-" + (i + 1)).daemon(true)
+                    .start(() -> drain(queue)));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsRequested(NotificationsRequestedEvent event) {
+        dispatch(event.notifications());
+    }
+
+    public void dispatch(List<PendingNotification> notifications) {
+        List<PendingNotification> unqueued = new ArrayList<>();
+        for (PendingNotification notification : notifications) {
+            if (!enqueue(notification)) {
+                unqueued.add(notification);
+            }
+        }
+        // Only once the workers are stopping
+        if (!unqueued.isEmpty()) {
+            write(unqueued);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        // Workers finish what is queued before exiting
+        running = false;
+        for (Thread worker : workers) {
+            worker.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    // Waits for queue space while the workers run; false once they are shutting down
+    private boolean enqueue(PendingNotification notification) {
+        BlockingQueue<PendingNotification> queue = queueFor(notification);
+        if (!running) {
+            return false;
+        }
+        if (queue.offer(notification)) {
+            return true;
+        }
+        blocked.increment();
+        try {
+            while (running) {
+                if (queue.offer(notification, 500, TimeUnit.MILLISECONDS)) {
+                    return true;
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+
+    private BlockingQueue<PendingNotification> queueFor(PendingNotification notification) {
+        return queues.get(Math.floorMod(notification.recipientId().hashCode(), queues.size()));
+    }
+
+    private void drain(BlockingQueue<PendingNotification> queue) {
+        List<PendingNotification> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingNotification first = queue.poll(500, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, batchSize - 1);
+                write(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Failed to dispatch {} notifications", batch.size(), e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void write(List<PendingNotification> batch) {
+        LocalDateTime now = LocalDateTime.now();
+        List<PendingNotification> collapsed = NotificationDigest.collapse(batch);
+        digested.increment(batch.size() - collapsed.size());
+
+        List<PendingNotification> digestible = collapsed.stream().filter(PendingNotification::isDigestible).toList();
+        Set<NotificationDigest.Key> folded = new HashSet<>();
+        List<UUID> foldedIds = new ArrayList<>();
+        if (!digestible.isEmpty()) {
+            for (FoldedRow row : foldIntoExisting(digestible, now)) {
+                foldedIds.add(row.id());
+                folded.add(row.key());
+            }
+        }
+
+        List<PendingNotification> fresh = collapsed.stream()
+                .filter(n -> !n.isDigestible() || !folded.contains(NotificationDigest.Key.of(n)))
+                .toList();
+        digested.increment(collapsed.size() - fresh.size());
+
+        List<UUID> insertedIds = insert(fresh, now);
+        written.increment(insertedIds.size());
+
+        pusher.pushCreated(insertedIds);
+        pusher.pushDigested(foldedIds);
+    }
+
+    private List<FoldedRow> foldIntoExisting(List<PendingNotification> digestible, LocalDateTime now) {
+        Object[] recipientIds = digestible.stream().map(PendingNotification::recipientId).toArray();
+        Object[] workItemIds = digestible.stream().map(PendingNotification::workItemId).toArray();
+        Object[] updateCounts = digestible.stream().map(PendingNotification::updateCount).toArray();
+        Object[] subtitles = digestible.stream().map(PendingNotification::subtitle).toArray();
+
+        return transactionTemplate.execute(status -> jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(DIGEST_SQL);
+            statement.setTimestamp(1, Timestamp.valueOf(now));
+            statement.setArray(2, connection.createArrayOf("uuid", recipientIds));
+            statement.setArray(3, connection.createArrayOf("uuid", workItemIds));
+            statement.setArray(4, connection.createArrayOf("int4", updateCounts));
+            statement.setArray(5, connection.createArrayOf("text", subtitles));
+            statement.setString(6, PendingNotification.TASK_UPDATED);
+            statement.setTimestamp(7, Timestamp.valueOf(now.minus(digestWindow)));
+            return statement;
+        }, (rs, rowNum) -> new FoldedRow(rs.getObject(1, UUID.class),
+                new NotificationDigest.Key(rs.getObject(2, UUID.class), rs.getObject(3, UUID.class)))));
+    }
+
+    // One JDBC batch; if any row fails (e.g. its work item was deleted meanwhile) the rest are inserted one by one
+    private List<UUID> insert(List<PendingNotification> notifications, LocalDateTime now) {
+        if (notifications.isEmpty()) {
+            return List.of();
+        }
+        Timestamp createdAt = Timestamp.valueOf(now);
+        List<Object[]> rows = notifications.stream().map(n -> new Object[] {
+                UUID.randomUUID(), n.recipientId(), n.type().name(), n.workspaceId(), n.workItemId(),
+                n.title(), n.subtitle(), n.updateCount(), createdAt, createdAt }).toList();
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(INSERT_SQL, rows));
+            return rows.stream().map(row -> (UUID) row[0]).toList();
+        } catch (DataAccessException e) {
+            List<UUID> ids = new ArrayList<>();
+            for (Object[] row : rows) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> jdbcTemplate.update(INSERT_SQL, row));
+                    ids.add((UUID) row[0]);
+                } catch (DataAccessException rowError) {
+                    failed.increment();
+                    log.warn("Dropping notification for recipient {}: {}", row[1], rowError.getMessage());
+                }
+            }
+            return ids;
+        }
+    }
+
+    private record FoldedRow(UUID id, NotificationDigest.Key key) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.strideboard.notification;
+
+import java.util.Collection;
+import java.util.UUID;
+
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.strideboard.data.notification.InboxEntry;
+import com.strideboard.data.notification.InboxItem;
+import com.strideboard.data.notification.InboxUpdate;
+import com.strideboard.data.notification.NotificationRepository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Pushes inbox changes to the recipient's /user/queue/notifications,
+ * replacing client polling of has-unread. Also keeps the UnreadCounter in step.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class NotificationPusher {
+    public static final String DESTINATION = "/queue/notifications";
+
+    private final NotificationRepository notificationRepository;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final UnreadCounter unreadCounter;
+
+    // Called by the dispatcher once the rows are committed; one query for the whole batch
+    public void pushCreated(Collection<UUID> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (InboxEntry entry : notificationRepository.findInboxEntriesByIdIn(notificationIds)) {
+                push(entry.recipientEmail(), entry.toInboxItem(), unreadCounter.increment(entry.recipientId()));
+            }
+        } catch (RuntimeException e) {
+            // The rows are already written; clients catch up on their next inbox load
+            log.warn("Failed to push {} new notifications", notificationIds.size(), e);
+        }
+    }
+
+    // Rows that absorbed more updates: pushed again with their new count, unread count unchanged
+    public void pushDigested(Collection<UUID> notificationIds) {
+        if (notificationIds.isEmpty()) {
+            return;
+        }
+        try {
+            for (InboxEntry entry : notificationRepository.findInboxEntriesByIdIn(notificationIds)) {
+                push(entry.recipientEmail(), entry.toInboxItem(), unreadCounter.get(entry.recipientId()));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Failed to push {} digested notifications", notificationIds.size(), e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationRemoved(NotificationRemovedEvent event) {
+        try {
+            push(event.recipientEmail(), null, unreadCounter.decrement(event.recipientId(), event.count()));
+        } catch (RuntimeException e) {
+            log.warn("Failed to push notification change {}", event, e);
+        }
+    }
+
+    private void push(String recipientEmail, InboxItem item, long unreadCount) {
+        // STOMP sessions are named after the JWT subject, which is the email
+        messagingTemplate.convertAndSendToUser(recipientEmail, DESTINATION, new InboxUpdate(item, unreadCount));
+    }
+}
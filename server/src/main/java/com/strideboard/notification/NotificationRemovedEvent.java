@@ -0,0 +1,14 @@
+package com.strideboard.notification;
+
+import java.util.UUID;
+
+/**
+ * Published when a user removes notifications (read, accepted or rejected),
+ * so their unread count can be updated and pushed once the transaction commits.
+ */
+public record NotificationRemovedEvent(UUID recipientId, String recipientEmail, int count) {
+
+    public NotificationRemovedEvent(UUID recipientId, String recipientEmail) {
+        this(recipientId, recipientEmail, 1);
+    }
+}
@@ -0,0 +1,100 @@
+package com.strideboard.notification;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Deletes "update" notifications older than the retention age, so inboxes that are
+ * never opened do not grow without bound. Invites are kept until answered.
+ *
+ * Rows go in small chunks, each its own auto-committed statement, so row locks are
+ * short-lived and rows a user is touching at that moment are skipped, not waited on.
+ */
+@Slf4j
+@Component
+public class NotificationRetentionJob {
+    private static final String PURGE_SQL = """
+            DELETE FROM notifications
+            WHERE id IN (
+                SELECT id FROM notifications
+                WHERE type = 'UPDATE' AND created_at < ?
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED)
+            RETURNING recipient_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final int maxBatches;
+    private final Counter purged;
+    private final DistributionSummary purgedPerRun;
+    private final Timer runTime;
+
+    public NotificationRetentionJob(JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher,
+            MeterRegistry meterRegistry,
+            @Value("${app.notifications.retention.max-age:30d}") Duration maxAge,
+            @Value("${app.notifications.retention.batch-size:1000}") int batchSize,
+            @Value("${app.notifications.retention.max-batches:100}") int maxBatches) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.maxAge = maxAge;
+        this.batchSize = batchSize;
+        this.maxBatches = maxBatches;
+        this.purged = meterRegistry.counter("notifications.retention.purged");
+        this.purgedPerRun = DistributionSummary.builder("notifications.retention.purged.per.run")
+                .baseUnit("rows")
+                .register(meterRegistry);
+        this.runTime = meterRegistry.timer("notifications.retention.duration");
+    }
+
+    @Scheduled(initialDelayString = "${app.notifications.retention.initial-delay:5m}",
+            fixedDelayString = "${app.notifications.retention.interval:1h}")
+    public void purge() {
+        int removed = runTime.record(() -> purgeOlderThan(LocalDateTime.now().minus(maxAge)));
+        if (removed > 0) {
+            log.info("Retention purged {} notifications older than {}", removed, maxAge);
+        }
+    }
+
+    // Returns the number of rows removed; stops early after max-batches so one run stays bounded
+    public int purgeOlderThan(LocalDateTime cutoff) {
+        int total = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<UUID> recipients = jdbcTemplate.queryForList(PURGE_SQL, UUID.class, cutoff, batchSize);
+            if (recipients.isEmpty()) {
+                break;
+            }
+            total += recipients.size();
+            purged.increment(recipients.size());
+
+            // Their unread counts are stale now
+            Set<UUID> distinct = new HashSet<>(recipients);
+            eventPublisher.publishEvent(new NotificationsPurgedEvent(List.copyOf(distinct)));
+
+            if (recipients.size() < batchSize) {
+                break;
+            }
+        }
+        purgedPerRun.record(total);
+        return total;
+    }
+}
@@ -1,19 +1,25 @@
 package com.strideboard.notification;
 
-import java.time.format.DateTimeFormatter;
+import java.util.Collection;
 import java.util.List;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import com.strideboard.data.notification.InboxCursor;
+import com.strideboard.data.notification.InboxEntry;
 import com.strideboard.data.notification.InboxItem;
+import com.strideboard.data.notification.InboxPage;
 import com.strideboard.data.notification.Notification;
 import com.strideboard.data.notification.NotificationRepository;
 import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.AuthenticatedUser;
 import com.strideboard.data.workspace.Membership;
 import com.strideboard.data.workspace.MembershipRepository;
+import com.strideboard.workspace.MembershipChangedEvent;
 
 import lombok.RequiredArgsConstructor;
 
@@ -22,36 +28,59 @@ import lombok.RequiredArgsConstructor;
 public class NotificationService {
     private final NotificationRepository notificationRepository;
     private final MembershipRepository membershipRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final UnreadCounter unreadCounter;
 
-    @Transactional(readOnly = true)
+    // Whole inbox, newest first, from one joined query
     public List<InboxItem> getUserNotifications(UUID userId) {
-        List<Notification> notifications = notificationRepository.findByRecipientIdOrderByCreatedAtDesc(userId);
-
-        return notifications.stream().map(n -> {
-            String projectName = null;
-            if (n.getWorkItem() != null && n.getWorkItem().getProject() != null) {
-                projectName = n.getWorkItem().getProject().getName();
-            }
-
-            return InboxItem.builder()
-                    .id(n.getId())
-                    .type(n.getType().name().toLowerCase())
-                    .workspaceName(n.getWorkspace().getName())
-                    .projectName(projectName)
-                    .subtitle(n.getSubtitle())
-                    .time(n.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
-                    .build();
-        })
-                .collect(Collectors.toList());
+        return notificationRepository.findInbox(userId, Limit.unlimited()).stream()
+                .map(InboxEntry::toInboxItem)
+                .toList();
+    }
+
+    // One page of the inbox, newest first, continuing after the given cursor (null for the first page)
+    public InboxPage getInboxPage(UUID userId, InboxCursor before, int pageSize) {
+        // Fetch one extra row to know whether another page exists
+        Limit limit = Limit.of(pageSize + 1);
+        List<InboxEntry> entries = before == null
+                ? notificationRepository.findInbox(userId, limit)
+                : notificationRepository.findInboxBefore(userId, before.createdAt(), before.id(), limit);
+
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            nextCursor = InboxCursor.of(entries.get(pageSize - 1)).encode();
+        }
+
+        return new InboxPage(entries.stream().map(InboxEntry::toInboxItem).toList(), nextCursor);
+    }
+
+    public long getUnreadCount(UUID userId) {
+        return unreadCounter.get(userId);
+    }
+
+    public void markAsRead(UUID notificationId, AuthenticatedUser user) {
+        deleteOwn(notificationId, user);
     }
 
-    public void markAsRead(UUID notificationId) {
-        notificationRepository.deleteById(notificationId);
+    // One DELETE for the whole set; returns how many rows were removed
+    public int markAsRead(Collection<UUID> notificationIds, AuthenticatedUser user) {
+        int removed = notificationRepository.deleteReadByRecipientIdAndIdIn(user.id(), notificationIds);
+        publishRemoved(user, removed);
+        return removed;
+    }
+
+    // Marks the cursor row and everything older in the inbox as read, in one DELETE
+    public int markAsReadUpTo(InboxCursor upTo, AuthenticatedUser user) {
+        int removed = notificationRepository.deleteReadByRecipientIdUpTo(user.id(), upTo.createdAt(), upTo.id());
+        publishRemoved(user, removed);
+        return removed;
     }
 
     @Transactional
-    public void acceptInvite(UUID notificationId) {
+    public void acceptInvite(UUID notificationId, AuthenticatedUser user) {
         Notification notification = notificationRepository.findById(notificationId)
+                .filter(n -> n.getRecipient().getId().equals(user.id()))
                 .orElseThrow(() -> new RuntimeException("Notification not found"));
 
         if (notification.getType() != NotificationType.INVITE) {
@@ -71,13 +100,30 @@ public class NotificationService {
                     .build();
 
             membershipRepository.save(newMembership);
+            eventPublisher.publishEvent(MembershipChangedEvent.member(
+                    notification.getWorkspace().getId(),
+                    notification.getRecipient().getId()));
         }
 
         // Delete the notification
         notificationRepository.delete(notification);
+        eventPublisher.publishEvent(new NotificationRemovedEvent(user.id(), user.email()));
+    }
+
+    public void rejectInvite(UUID notificationId, AuthenticatedUser user) {
+        deleteOwn(notificationId, user);
     }
 
-    public void rejectInvite(UUID notificationId) {
-        notificationRepository.deleteById(notificationId);
+    // Only counts as a removal when the row existed and belonged to the user
+    private void deleteOwn(UUID notificationId, AuthenticatedUser user) {
+        if (notificationRepository.deleteByIdAndRecipientId(notificationId, user.id()) > 0) {
+            eventPublisher.publishEvent(new NotificationRemovedEvent(user.id(), user.email()));
+        }
+    }
+
+    private void publishRemoved(AuthenticatedUser user, int removed) {
+        if (removed > 0) {
+            eventPublisher.publishEvent(new NotificationRemovedEvent(user.id(), user.email(), removed));
+        }
     }
 }
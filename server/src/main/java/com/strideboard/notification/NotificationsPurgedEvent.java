@@ -0,0 +1,12 @@
+package com.strideboard.notification;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Published when notifications disappear through a cascade (work item, project or
+ * workspace deleted) or the retention job, naming the recipients whose unread count
+ * must be reloaded.
+ */
+public record NotificationsPurgedEvent(List<UUID> recipientIds) {
+}
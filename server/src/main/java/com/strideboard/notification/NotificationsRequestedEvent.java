@@ -0,0 +1,14 @@
+package com.strideboard.notification;
+
+import java.util.List;
+
+/**
+ * Published by request handlers instead of saving notifications inline.
+ * The dispatcher queues them once the transaction commits.
+ */
+public record NotificationsRequestedEvent(List<PendingNotification> notifications) {
+
+    public static NotificationsRequestedEvent of(PendingNotification notification) {
+        return new NotificationsRequestedEvent(List.of(notification));
+    }
+}
@@ -0,0 +1,47 @@
+package com.strideboard.notification;
+
+import java.util.UUID;
+
+import com.strideboard.data.notification.NotificationType;
+
+/**
+ * A notification waiting in the dispatch queue. Holds ids only, so it stays valid
+ * after the request's persistence context is gone. updateCount is how many
+ * edits it stands for once repeated "Task Updated" notifications have been digested.
+ */
+public record PendingNotification(
+        UUID recipientId,
+        NotificationType type,
+        UUID workspaceId,
+        UUID workItemId,
+        String title,
+        String subtitle,
+        int updateCount) {
+
+    public static final String TASK_UPDATED = "Task Updated";
+    public static final String TASK_ASSIGNED = "New Task Assigned";
+
+    public static PendingNotification invite(UUID recipientId, UUID workspaceId, String workspaceName) {
+        return new PendingNotification(recipientId, NotificationType.INVITE, workspaceId, null,
+                "Workspace Invitation", "You have been invited to join " + workspaceName, 1);
+    }
+
+    public static PendingNotification assigned(UUID recipientId, UUID workspaceId, UUID workItemId, String itemTitle) {
+        return new PendingNotification(recipientId, NotificationType.UPDATE, workspaceId, workItemId,
+                TASK_ASSIGNED, "You have been assigned to: " + itemTitle, 1);
+    }
+
+    public static PendingNotification updated(UUID recipientId, UUID workspaceId, UUID workItemId, String itemTitle) {
+        return new PendingNotification(recipientId, NotificationType.UPDATE, workspaceId, workItemId,
+                TASK_UPDATED, "Updates were made to: " + itemTitle, 1);
+    }
+
+    // Only plain edits are digested; invites and assignments always get their own row
+    public boolean isDigestible() {
+        return type == NotificationType.UPDATE && workItemId != null && TASK_UPDATED.equals(title);
+    }
+
+    public PendingNotification withUpdateCount(int count) {
+        return new PendingNotification(recipientId, type, workspaceId, workItemId, title, subtitle, count);
+    }
+}
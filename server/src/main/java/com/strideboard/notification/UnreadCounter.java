@@ -0,0 +1,98 @@
+package com.strideboard.notification;
+
+import java.time.Duration;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.ToLongFunction;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.strideboard.data.notification.NotificationRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Per-user unread notification count, seeded from a count query on first use and
+ * then adjusted in memory as notifications are created and removed.
+ * Entries expire after the TTL so any drift is bounded.
+ *
+ * Only the node that writes or removes a notification adjusts its count, so with
+ * app.cluster.multi-node every call runs the indexed count query instead and nothing
+ * is cached: another node's dispatcher would otherwise leave the badge wrong here
+ * until the entry expired.
+ * Hit/miss rates are published under the "unread-counts" cache metrics.
+ */
+@Component
+public class UnreadCounter {
+    private final NotificationRepository notificationRepository;
+    private final LoadingCache<UUID, AtomicLong> counts;
+    private final boolean multiNode;
+
+    public UnreadCounter(NotificationRepository notificationRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.unread-counts.max-size:50000}") long maxSize,
+            @Value("${app.cache.unread-counts.ttl:10m}") Duration ttl,
+            @Value("${app.cluster.multi-node:false}") boolean multiNode) {
+        this.notificationRepository = notificationRepository;
+        this.multiNode = multiNode;
+        this.counts = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build(this::load);
+        CaffeineCacheMetrics.monitor(meterRegistry, counts, "unread-counts");
+    }
+
+    public long get(UUID userId) {
+        if (multiNode) {
+            return notificationRepository.countByRecipientId(userId);
+        }
+        return counts.get(userId).get();
+    }
+
+    // Called after the new row is committed
+    public long increment(UUID userId) {
+        return adjust(userId, AtomicLong::incrementAndGet);
+    }
+
+    public long decrement(UUID userId) {
+        return decrement(userId, 1);
+    }
+
+    public long decrement(UUID userId, int by) {
+        return adjust(userId, count -> count.updateAndGet(value -> Math.max(0, value - by)));
+    }
+
+    /*
+     * A count loaded between the commit and this call already reflects the change and
+     * is adjusted once more; that window is the few microseconds between a commit and
+     * its listener, and the TTL bounds the drift. Without an entry there is nothing to
+     * adjust: a load started before the commit may still be in flight and miss the
+     * change, so it is discarded (invalidate waits for it) and the count loaded afresh.
+     */
+    private long adjust(UUID userId, ToLongFunction<AtomicLong> change) {
+        if (multiNode) {
+            return notificationRepository.countByRecipientId(userId);
+        }
+        AtomicLong count = counts.getIfPresent(userId);
+        if (count != null) {
+            return change.applyAsLong(count);
+        }
+        counts.invalidate(userId);
+        return get(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onNotificationsPurged(NotificationsPurgedEvent event) {
+        counts.invalidateAll(event.recipientIds());
+    }
+
+    private AtomicLong load(UUID userId) {
+        return new AtomicLong(notificationRepository.countByRecipientId(userId));
+    }
+}
@@ -3,6 +3,7 @@ package com.strideboard.project;
 import java.util.List;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,15 +17,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 
+import com.strideboard.auth.PrincipalCache;
+import com.strideboard.data.notification.NotificationRepository;
 import com.strideboard.data.project.CreateProjectRequest;
 import com.strideboard.data.project.Project;
 import com.strideboard.data.project.ProjectRepository;
-import com.strideboard.data.user.User;
+import com.strideboard.data.user.AuthenticatedUser;
 import com.strideboard.data.user.UserRepository;
-import com.strideboard.data.workspace.Membership;
-import com.strideboard.data.workspace.MembershipRepository;
 import com.strideboard.data.workspace.Workspace;
 import com.strideboard.data.workspace.WorkspaceRepository;
+import com.strideboard.notification.NotificationsPurgedEvent;
+import com.strideboard.workspace.MembershipCache;
 
 import lombok.RequiredArgsConstructor;
 
@@ -35,8 +38,11 @@ public class ProjectController {
 
     private final WorkspaceRepository workspaceRepository;
     private final ProjectRepository projectRepository;
-    private final MembershipRepository membershipRepository;
+    private final MembershipCache membershipCache;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     @GetMapping("/{workspaceId}")
     @Transactional(readOnly = true)
@@ -44,10 +50,9 @@ public class ProjectController {
             @PathVariable UUID workspaceId,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = principalCache.resolve(auth);
 
-        if (!membershipRepository.existsByUserIdAndWorkspaceId(user.getId(), workspaceId)) {
+        if (!membershipCache.isMember(user.id(), workspaceId)) {
             return ResponseEntity.status(403).build();
         }
 
@@ -62,13 +67,9 @@ public class ProjectController {
             @RequestBody CreateProjectRequest request,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = principalCache.resolve(auth);
 
-        Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId)
-                .orElse(null);
-
-        if (membership == null || "VIEWER".equalsIgnoreCase(membership.getRole())) {
+        if (!membershipCache.canEdit(user.id(), workspaceId)) {
             return ResponseEntity.status(403).build();
         }
 
@@ -79,7 +80,7 @@ public class ProjectController {
                 .name(request.getName())
                 .description(request.getDescription())
                 .workspace(workspace)
-                .creator(user)
+                .creator(userRepository.getReferenceById(user.id()))
                 .build();
 
         return ResponseEntity.ok(projectRepository.save(project));
@@ -97,10 +98,9 @@ public class ProjectController {
             @PathVariable UUID projectId,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = principalCache.resolve(auth);
 
-        if (!membershipRepository.existsByUserIdAndWorkspaceId(user.getId(), workspaceId)) {
+        if (!membershipCache.isMember(user.id(), workspaceId)) {
             return ResponseEntity.status(403).build();
         }
 
@@ -146,8 +146,7 @@ public class ProjectController {
             @PathVariable UUID projectId,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = principalCache.resolve(auth);
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
@@ -160,7 +159,12 @@ public class ProjectController {
             return ResponseEntity.status(403).build();
         }
 
+        // Notifications on the project's items cascade away with it
+        List<UUID> recipientIds = notificationRepository.findRecipientIdsByProjectId(projectId);
         projectRepository.delete(project);
+        if (!recipientIds.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationsPurgedEvent(recipientIds));
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -170,8 +174,7 @@ public class ProjectController {
             @PathVariable UUID projectId,
             Authentication auth) {
 
-        User currentUser = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser currentUser = principalCache.resolve(auth);
 
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
@@ -179,7 +182,7 @@ public class ProjectController {
         // Security check omitted for brevity, but should ideally check workspace
         // membership
 
-        boolean isCreator = project.getCreator() != null && project.getCreator().getId().equals(currentUser.getId());
+        boolean isCreator = project.getCreator() != null && project.getCreator().getId().equals(currentUser.id());
         return ResponseEntity.ok(isCreator);
     }
 
@@ -194,7 +197,7 @@ public class ProjectController {
     // Helper to consolidate update permissions logic
     private ResponseEntity<Project> updateProject(UUID workspaceId, UUID projectId, Authentication auth,
             java.util.function.Consumer<Project> updater) {
-        User user = userRepository.findByEmail(auth.getName()).orElseThrow(() -> new RuntimeException("User"));
+        AuthenticatedUser user = principalCache.resolve(auth);
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
@@ -208,13 +211,13 @@ public class ProjectController {
         return ResponseEntity.ok(projectRepository.save(project));
     }
 
-    private boolean hasProjectEditPermissions(User user, Project project, UUID workspaceId) {
-        Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId).orElse(null);
-        if (membership == null)
+    private boolean hasProjectEditPermissions(AuthenticatedUser user, Project project, UUID workspaceId) {
+        String role = membershipCache.findRole(user.id(), workspaceId).orElse(null);
+        if (role == null)
             return false;
 
-        boolean isCreator = project.getCreator() != null && project.getCreator().getId().equals(user.getId());
-        boolean isAdmin = "ADMIN".equals(membership.getRole());
+        boolean isCreator = project.getCreator() != null && project.getCreator().getId().equals(user.id());
+        boolean isAdmin = "ADMIN".equals(role);
 
         return isCreator || isAdmin;
     }
@@ -0,0 +1,166 @@
+package com.strideboard.realtime;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.strideboard.realtime.WorkItemSocketEvent.EventType;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Sends work-item events to /topic/project/{projectId}.
+ *
+ * Events are buffered per project for a short window, consecutive patches to the
+ * same item are merged, and the result is flushed as one WorkItemEventBatch from a
+ * background thread, so request threads never wait on broker fan-out.
+ * Every event is stamped with a per-project version that increases by one, letting
+ * clients apply patches in order and resync when they see a gap.
+ */
+@Slf4j
+@Component
+public class ProjectBroadcaster {
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ScheduledExecutorService flusher;
+    private final long windowMillis;
+    // Versions are counted per node, so batches name the node that stamped them
+    private final String nodeId = UUID.randomUUID().toString();
+
+    // Idle projects are dropped; a re-created channel starts from the clock so versions never go backwards
+    private final Cache<UUID, ProjectChannel> channels = Caffeine.newBuilder()
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public ProjectBroadcaster(SimpMessagingTemplate messagingTemplate,
+            @Value("${app.realtime.coalesce-window:50ms}") Duration window,
+            @Value("${app.realtime.flush-threads:2}") int flushThreads) {
+        this.messagingTemplate = messagingTemplate;
+        this.windowMillis = window.toMillis();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.flusher = Executors.newScheduledThreadPool(flushThreads, runnable -> {
+            Thread thread = new Thread(runnable, "project-broadcast-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void broadcast(UUID projectId, WorkItemSocketEvent event) {
+        broadcastAll(projectId, List.of(event));
+    }
+
+    // Enqueued atomically, so the events always go out together in one batch
+    public void broadcastAll(UUID projectId, List<WorkItemSocketEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        ProjectChannel channel = channels.get(projectId, ProjectChannel::new);
+        if (channel.enqueue(events)) {
+            flusher.schedule(channel::flush, windowMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdown();
+        channels.asMap().values().forEach(ProjectChannel::flush);
+    }
+
+    private final class ProjectChannel {
+        private final String destination;
+
+        // Guarded by "this"
+        private final List<WorkItemSocketEvent> pending = new ArrayList<>();
+        private final Map<String, WorkItemSocketEvent> pendingPatches = new HashMap<>();
+        private boolean flushScheduled;
+
+        // Guarded by sendLock
+        private final Object sendLock = new Object();
+        private long version = System.currentTimeMillis() * 1000;
+
+        ProjectChannel(UUID projectId) {
+            this.destination = "/topic/project/" + projectId;
+        }
+
+        // Returns true when the caller must schedule a flush
+        synchronized boolean enqueue(List<WorkItemSocketEvent> events) {
+            events.forEach(this::add);
+            if (flushScheduled) {
+                return false;
+            }
+            flushScheduled = true;
+            return true;
+        }
+
+        // Guarded by "this"
+        private void add(WorkItemSocketEvent event) {
+            String itemId = event.getWorkItemId();
+
+            if (event.getType() == EventType.PATCHED) {
+                WorkItemSocketEvent pendingPatch = pendingPatches.get(itemId);
+                if (pendingPatch != null) {
+                    // Later values win, untouched fields from the earlier patch are kept
+                    pendingPatch.getChanges().putAll(event.getChanges());
+                    return;
+                }
+                // Own a mutable copy so later patches can be merged into it
+                event.setChanges(new LinkedHashMap<>(event.getChanges()));
+                pendingPatches.put(itemId, event);
+            } else if (event.getType() == EventType.DELETED) {
+                // Pending patches for a deleted item are moot
+                WorkItemSocketEvent pendingPatch = pendingPatches.remove(itemId);
+                if (pendingPatch != null) {
+                    pending.remove(pendingPatch);
+                }
+            } else {
+                // A full snapshot ends the mergeable run for this item
+                pendingPatches.remove(itemId);
+            }
+
+            pending.add(event);
+        }
+
+        void flush() {
+            synchronized (sendLock) {
+                List<WorkItemSocketEvent> events;
+                synchronized (this) {
+                    events = new ArrayList<>(pending);
+                    pending.clear();
+                    pendingPatches.clear();
+                    flushScheduled = false;
+                }
+                if (events.isEmpty()) {
+                    return;
+                }
+
+                long fromVersion = version + 1;
+                for (WorkItemSocketEvent event : events) {
+                    event.setVersion(++version);
+                }
+
+                try {
+                    messagingTemplate.convertAndSend(destination,
+                            new WorkItemEventBatch(nodeId, fromVersion, version, events));
+                } catch (RuntimeException e) {
+                    // Clients will see the version gap and reload
+                    log.warn("Failed to broadcast {} events to {}", events.size(), destination, e);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.strideboard.realtime;
+
+import java.util.List;
+
+/**
+ * One STOMP frame carrying every event coalesced for a project during a flush window.
+ * Event versions are consecutive, from fromVersion to toVersion inclusive, per source node;
+ * with a shared broker relay several nodes publish to the same topic.
+ */
+public record WorkItemEventBatch(String source, long fromVersion, long toVersion, List<WorkItemSocketEvent> events) {
+}
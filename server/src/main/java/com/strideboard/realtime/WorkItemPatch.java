@@ -0,0 +1,87 @@
+package com.strideboard.realtime;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemPriority;
+import com.strideboard.data.workitem.WorkItemState;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workitem.WorkItemType;
+import com.strideboard.data.workitem.WorkItemView;
+
+/**
+ * Computes the field-level patch broadcast for a PATCH request, so a drag only
+ * ships {position, status} instead of the whole work item.
+ */
+public final class WorkItemPatch {
+
+    private WorkItemPatch() {
+    }
+
+    // Editable fields captured before the update is applied
+    public record Snapshot(
+            String title,
+            String description,
+            WorkItemStatus status,
+            WorkItemPriority priority,
+            WorkItemType type,
+            Double position,
+            UUID assigneeId) {
+
+        // Reads the assignee id from the proxy without initializing it
+        public static Snapshot of(WorkItem item) {
+            return new Snapshot(item.getTitle(), item.getDescription(), item.getStatus(), item.getPriority(),
+                    item.getType(), item.getPosition(),
+                    item.getAssignee() != null ? item.getAssignee().getId() : null);
+        }
+    }
+
+    // Changed fields keyed by their JSON name; empty when nothing changed
+    public static Map<String, Object> diff(Snapshot before, WorkItemView after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        put(changes, "title", before.title(), after.title());
+        put(changes, "description", before.description(), after.description());
+        put(changes, "status", before.status(), after.status());
+        put(changes, "priority", before.priority(), after.priority());
+        put(changes, "type", before.type(), after.type());
+        put(changes, "position", before.position(), after.position());
+
+        UUID assigneeId = after.assignee() != null ? after.assignee().id() : null;
+        if (!Objects.equals(before.assigneeId(), assigneeId)) {
+            changes.put("assignee", after.assignee()); // null when unassigned
+        }
+
+        if (!changes.isEmpty()) {
+            changes.put("updatedAt", after.updatedAt());
+            changes.put("version", after.version());
+        }
+        return changes;
+    }
+
+    // Same as diff, for the narrow update path that only touches status, position and assignee
+    public static Map<String, Object> placement(WorkItemState before, WorkItemView after) {
+        Map<String, Object> changes = new LinkedHashMap<>();
+        put(changes, "status", before.status(), after.status());
+        put(changes, "position", before.position(), after.position());
+
+        UUID assigneeId = after.assignee() != null ? after.assignee().id() : null;
+        if (!Objects.equals(before.assigneeId(), assigneeId)) {
+            changes.put("assignee", after.assignee()); // null when unassigned
+        }
+
+        if (!changes.isEmpty()) {
+            changes.put("updatedAt", after.updatedAt());
+            changes.put("version", after.version());
+        }
+        return changes;
+    }
+
+    private static void put(Map<String, Object> changes, String field, Object oldValue, Object newValue) {
+        if (!Objects.equals(oldValue, newValue)) {
+            changes.put(field, newValue);
+        }
+    }
+}
@@ -1,18 +1,42 @@
 package com.strideboard.realtime;
 
-import com.strideboard.data.workitem.WorkItem;
+import java.util.Map;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.strideboard.data.workitem.WorkItemView;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class WorkItemSocketEvent {
-    private EventType type; // "CREATED", "UPDATED", "DELETED"
-    private WorkItem workItem;
-    private String workItemId; 
+    private EventType type; // "CREATED", "UPDATED", "PATCHED", "DELETED"
+    private WorkItemView workItem; // full item for CREATED/UPDATED
+    private String workItemId;
+    private Map<String, Object> changes; // changed fields only, for PATCHED
+    private long version; // per-project, assigned when broadcast; gaps mean missed events
 
     public enum EventType {
-        CREATED, UPDATED, DELETED
+        CREATED, UPDATED, PATCHED, DELETED
+    }
+
+    public static WorkItemSocketEvent created(WorkItemView workItem) {
+        return new WorkItemSocketEvent(EventType.CREATED, workItem, workItem.id().toString(), null, 0);
+    }
+
+    public static WorkItemSocketEvent updated(WorkItemView workItem) {
+        return new WorkItemSocketEvent(EventType.UPDATED, workItem, workItem.id().toString(), null, 0);
+    }
+
+    public static WorkItemSocketEvent patched(String workItemId, Map<String, Object> changes) {
+        return new WorkItemSocketEvent(EventType.PATCHED, null, workItemId, changes, 0);
+    }
+
+    public static WorkItemSocketEvent deleted(String workItemId) {
+        return new WorkItemSocketEvent(EventType.DELETED, null, workItemId, null, 0);
     }
-}
\ No newline at end of file
+}
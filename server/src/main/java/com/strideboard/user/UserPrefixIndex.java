@@ -0,0 +1,108 @@
+package com.strideboard.user;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import com.strideboard.data.user.UserSummary;
+
+/**
+ * Users sorted by lower-cased email, for answering the invite search without touching
+ * the database. A prefix lookup is a binary search plus a walk over the matching run;
+ * a substring lookup scans the array.
+ *
+ * Readers work on an immutable snapshot and never lock. Writers rebuild the arrays and
+ * swap the snapshot, which is O(n) per change: fine for sign-ups and profile edits,
+ * not for bulk imports (use load for those).
+ */
+public class UserPrefixIndex {
+
+    private record Snapshot(String[] keys, UserSummary[] users) {
+    }
+
+    private static final Comparator<UserSummary> BY_KEY = Comparator.comparing(UserPrefixIndex::key);
+
+    private volatile Snapshot snapshot = new Snapshot(new String[0], new UserSummary[0]);
+
+    // Replaces the whole index
+    public synchronized void load(Collection<UserSummary> users) {
+        snapshot = build(new ArrayList<>(users));
+    }
+
+    // Drops the entries for these emails (any case), then adds the given users
+    public synchronized void replace(Collection<String> removedEmails, Collection<UserSummary> added) {
+        Set<String> removed = new HashSet<>();
+        removedEmails.forEach(email -> removed.add(email.toLowerCase(Locale.ROOT)));
+        added.forEach(user -> removed.add(key(user)));
+
+        Snapshot current = snapshot;
+        List<UserSummary> users = new ArrayList<>(current.users().length + added.size());
+        for (int i = 0; i < current.keys().length; i++) {
+            if (!removed.contains(current.keys()[i])) {
+                users.add(current.users()[i]);
+            }
+        }
+        users.addAll(added);
+        snapshot = build(users);
+    }
+
+    public int size() {
+        return snapshot.keys().length;
+    }
+
+    // Emails starting with the (lower-case) prefix, in email order, skipping excluded user ids
+    public List<UserSummary> findByPrefix(String prefix, Predicate<UUID> excluded, int limit) {
+        Snapshot current = snapshot;
+        String[] keys = current.keys();
+        List<UserSummary> matches = new ArrayList<>(Math.min(limit, 16));
+
+        int from = Arrays.binarySearch(keys, prefix);
+        for (int i = from >= 0 ? from : -from - 1; i < keys.length && matches.size() < limit; i++) {
+            if (!keys[i].startsWith(prefix)) {
+                break;
+            }
+            add(matches, current.users()[i], excluded);
+        }
+        return matches;
+    }
+
+    // Emails containing the (lower-case) fragment anywhere but at the start, in email order
+    public List<UserSummary> findContaining(String fragment, Predicate<UUID> excluded, int limit) {
+        Snapshot current = snapshot;
+        String[] keys = current.keys();
+        List<UserSummary> matches = new ArrayList<>(Math.min(limit, 16));
+
+        for (int i = 0; i < keys.length && matches.size() < limit; i++) {
+            if (!keys[i].startsWith(fragment) && keys[i].contains(fragment)) {
+                add(matches, current.users()[i], excluded);
+            }
+        }
+        return matches;
+    }
+
+    private static void add(List<UserSummary> matches, UserSummary user, Predicate<UUID> excluded) {
+        if (!excluded.test(user.id())) {
+            matches.add(user);
+        }
+    }
+
+    private static Snapshot build(List<UserSummary> users) {
+        users.sort(BY_KEY);
+        String[] keys = new String[users.size()];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(users.get(i));
+        }
+        return new Snapshot(keys, users.toArray(UserSummary[]::new));
+    }
+
+    private static String key(UserSummary user) {
+        return user.email().toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,155 @@
+package com.strideboard.user;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.strideboard.auth.UserChangedEvent;
+import com.strideboard.data.user.UserRepository;
+import com.strideboard.data.user.UserSummary;
+import com.strideboard.data.workspace.MembershipRepository;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Email search for the invite dialogs. Prefix matches come first, in email order, then
+ * matches elsewhere in the address; the limit is applied by whichever side answers,
+ * and only id/email/name is read.
+ *
+ * "database" (default) runs two indexed queries (see V3__user_email_search.sql).
+ * "memory" answers from a UserPrefixIndex loaded at startup, updated on sign-up and
+ * profile changes on this node, and fully reloaded every refresh interval so other
+ * nodes' changes show up within that interval.
+ */
+@Slf4j
+@Service
+public class UserSearch {
+    public static final int MIN_QUERY_LENGTH = 2;
+
+    // A trigram index needs one full trigram; shorter queries only match as prefixes
+    private static final int MIN_CONTAINS_LENGTH = 3;
+
+    private final UserRepository userRepository;
+    private final MembershipRepository membershipRepository;
+    private final UserPrefixIndex index; // null when searching the database
+
+    public UserSearch(UserRepository userRepository,
+            MembershipRepository membershipRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.users.search.index:database}") String mode) {
+        this.userRepository = userRepository;
+        this.membershipRepository = membershipRepository;
+        this.index = "memory".equalsIgnoreCase(mode) ? new UserPrefixIndex() : null;
+
+        if (index != null) {
+            Gauge.builder("users.search.index.size", index, UserPrefixIndex::size).register(meterRegistry);
+        }
+    }
+
+    // Up to limit users whose email contains the query, never the excluded user (the caller)
+    public List<UserSummary> search(String query, UUID excludeId, int limit) {
+        String needle = needle(query);
+        if (needle == null) {
+            return List.of();
+        }
+        if (index != null) {
+            return fromIndex(needle, excludeId::equals, limit);
+        }
+        return fromDatabase(needle, limit,
+                (prefix, n) -> userRepository.searchByEmailPrefix(prefix, excludeId, Limit.of(n)),
+                (pattern, prefix, n) -> userRepository.searchByEmailContaining(pattern, prefix, excludeId,
+                        Limit.of(n)));
+    }
+
+    /**
+     * Same, for inviting into a workspace: members are filtered out by the query itself
+     * (NOT EXISTS on the unique membership index), so the limit still yields a full page
+     * however large the workspace is. The memory index filters on the member ids instead.
+     */
+    public List<UserSummary> searchNotInWorkspace(String query, UUID workspaceId, int limit) {
+        String needle = needle(query);
+        if (needle == null) {
+            return List.of();
+        }
+        if (index != null) {
+            Set<UUID> members = new HashSet<>(membershipRepository.findUserIdsByWorkspaceId(workspaceId));
+            return fromIndex(needle, members::contains, limit);
+        }
+        return fromDatabase(needle, limit,
+                (prefix, n) -> userRepository.searchByEmailPrefixNotInWorkspace(prefix, workspaceId, Limit.of(n)),
+                (pattern, prefix, n) -> userRepository.searchByEmailContainingNotInWorkspace(pattern, prefix,
+                        workspaceId, Limit.of(n)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(initialDelayString = "${app.users.search.refresh:10m}",
+            fixedDelayString = "${app.users.search.refresh:10m}")
+    public void refresh() {
+        if (index == null) {
+            return;
+        }
+        long start = System.nanoTime();
+        index.load(userRepository.findAllSummaries());
+        log.debug("User search index loaded {} users in {} ms", index.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Runs after commit so the reload sees the new row
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        if (index != null) {
+            index.replace(event.emails(), userRepository.findSummariesByEmailIn(event.emails()));
+        }
+    }
+
+    // Prefix matches first, then the rest; the second lookup only runs when the page is not full
+    private List<UserSummary> fromIndex(String needle, Predicate<UUID> excluded, int limit) {
+        List<UserSummary> results = new ArrayList<>(index.findByPrefix(needle, excluded, limit));
+        if (results.size() < limit && needle.length() >= MIN_CONTAINS_LENGTH) {
+            results.addAll(index.findContaining(needle, excluded, limit - results.size()));
+        }
+        return results;
+    }
+
+    private List<UserSummary> fromDatabase(String needle, int limit, PrefixQuery prefixQuery,
+            ContainingQuery containingQuery) {
+        String escaped = escape(needle);
+        List<UserSummary> results = new ArrayList<>(prefixQuery.find(escaped + "%", limit));
+        if (results.size() < limit && needle.length() >= MIN_CONTAINS_LENGTH) {
+            results.addAll(containingQuery.find("%" + escaped + "%", escaped + "%", limit - results.size()));
+        }
+        return results;
+    }
+
+    // Lower-cased, trimmed query, or null when too short to search
+    private static String needle(String query) {
+        String needle = query.trim().toLowerCase(Locale.ROOT);
+        return needle.length() >= MIN_QUERY_LENGTH ? needle : null;
+    }
+
+    // LIKE wildcards in the query are matched literally
+    private static String escape(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+    private interface PrefixQuery {
+        List<UserSummary> find(String prefix, int limit);
+    }
+
+    private interface ContainingQuery {
+        List<UserSummary> find(String pattern, String prefix, int limit);
+    }
+}
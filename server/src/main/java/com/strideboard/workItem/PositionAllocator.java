@@ -0,0 +1,124 @@
+package com.strideboard.workItem;
+
+import java.time.Duration;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Hands out "append to end" positions for new work items without a MAX query per create.
+ *
+ * The mark lives in projects.last_position: one UPDATE advances it by a block of
+ * positions and returns the new end, so concurrent creates get unique positions even
+ * across nodes sharing the database. The first reservation seeds it from MAX(position).
+ * A single node keeps the unused rest of its block in memory and serves the next creates
+ * from it. With app.cluster.multi-node each create reserves a block of one instead:
+ * a block held by one node would otherwise put its later items before ones another node
+ * created in the meantime, so appends would no longer follow creation order.
+ *
+ * Moves past the end raise the mark in the database, so later appends on every node
+ * land after the moved item; moves below the highest mark this node has seen cost no
+ * statement. Both writes run in their own short transaction, so the projects row is
+ * never locked for the length of a caller's transaction.
+ * Hit/miss rates for the in-memory blocks are published under the "positions" cache metrics.
+ */
+@Component
+public class PositionAllocator {
+    private static final String RESERVE_SQL = """
+            UPDATE projects p
+            SET last_position = COALESCE(p.last_position,
+                    (SELECT MAX(w.position) FROM work_items w WHERE w.project_id = p.id), 0) + ?
+            WHERE p.id = ?
+            RETURNING p.last_position
+            """;
+
+    private static final String RAISE_SQL = """
+            UPDATE projects p
+            SET last_position = GREATEST(COALESCE(p.last_position,
+                    (SELECT MAX(w.position) FROM work_items w WHERE w.project_id = p.id), 0), ?)
+            WHERE p.id = ? AND (p.last_position IS NULL OR p.last_position < ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int blockSize;
+
+    // Positions reserved in the database but not handed out yet, per project
+    private final Cache<UUID, Block> blocks;
+
+    public PositionAllocator(JdbcTemplate jdbcTemplate,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.positions.max-size:10000}") long maxSize,
+            @Value("${app.cache.positions.ttl:10m}") Duration ttl,
+            @Value("${app.cache.positions.block-size:100}") int blockSize,
+            @Value("${app.cluster.multi-node:false}") boolean multiNode) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.blockSize = multiNode ? 1 : Math.max(1, blockSize);
+        this.blocks = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterAccess(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, blocks, "positions");
+    }
+
+    // Next position at the end of the project
+    public double next(UUID projectId) {
+        Block block = blocks.get(projectId, id -> new Block());
+        synchronized (block) {
+            if (block.remaining == 0) {
+                block.mark = reserve(projectId);
+                block.next = block.mark - (blockSize - 1) * WorkItemPositions.STEP;
+                block.remaining = blockSize;
+            }
+            double position = block.next;
+            block.next += WorkItemPositions.STEP;
+            block.remaining--;
+            return position;
+        }
+    }
+
+    // Called when an item is moved, so later appends on every node still land after it
+    public void observe(UUID projectId, double position) {
+        Block block = blocks.get(projectId, id -> new Block());
+        synchronized (block) {
+            // Positions still in the block at or below the moved item would go before it
+            if (block.remaining > 0 && position >= block.next) {
+                block.remaining = 0;
+            }
+            // The database mark only grows, so one already known to be past the item needs no write
+            if (position > block.mark) {
+                transactionTemplate.executeWithoutResult(status ->
+                        jdbcTemplate.update(RAISE_SQL, position, projectId, position));
+                block.mark = position;
+            }
+        }
+    }
+
+    // Advances the project's mark by one block and returns the last position in it
+    private double reserve(UUID projectId) {
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject(RESERVE_SQL, Double.class,
+                blockSize * WorkItemPositions.STEP, projectId));
+    }
+
+    private static final class Block {
+        private double next;
+        private int remaining;
+        // Lower bound of projects.last_position as this node last saw it
+        private double mark = Double.NEGATIVE_INFINITY;
+    }
+}
@@ -0,0 +1,274 @@
+package com.strideboard.workItem;
+
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
+import java.util.stream.Collectors;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.user.AuthenticatedUser;
+import com.strideboard.data.user.UserSummary;
+import com.strideboard.data.workitem.WorkItemBatchResult;
+import com.strideboard.data.workitem.WorkItemOperation;
+import com.strideboard.data.workitem.WorkItemOperation.Kind;
+import com.strideboard.data.workitem.WorkItemRef;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workspace.MembershipRepository;
+import com.strideboard.notification.NotificationsPurgedEvent;
+import com.strideboard.notification.NotificationsRequestedEvent;
+import com.strideboard.notification.PendingNotification;
+import com.strideboard.realtime.WorkItemSocketEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Applies a list of MOVE / ASSIGN / DELETE operations on one project in a single
+ * transaction: one query to load the targets, one to check assignees, one UPDATE for
+ * all moves and one for all assignments (each returning the versions it produced),
+ * then a JDBC batch of deletes. Each patch carries the item's new version.
+ *
+ * Crowded columns are not renumbered here: the caller does that after commit, as for
+ * a single move, so a large batch does not rewrite whole columns while holding its
+ * row locks.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkItemBatchService {
+    private static final String MOVE_SQL = """
+            UPDATE work_items w
+            SET status = COALESCE(m.status, w.status), position = COALESCE(m.position, w.position),
+                updated_at = ?, version = w.version + 1
+            FROM unnest(?::uuid[], ?::text[], ?::float8[]) AS m(id, status, position)
+            WHERE w.id = m.id AND w.project_id = ?
+            RETURNING w.id, w.version
+            """;
+    private static final String ASSIGN_SQL = """
+            UPDATE work_items w
+            SET assignee_id = a.assignee_id, updated_at = ?, version = w.version + 1
+            FROM unnest(?::uuid[], ?::uuid[]) AS a(id, assignee_id)
+            WHERE w.id = a.id AND w.project_id = ?
+            RETURNING w.id, w.version
+            """;
+    private static final String DELETE_SQL = "DELETE FROM work_items WHERE id = ? AND project_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkItemRepository workItemRepository;
+    private final MembershipRepository membershipRepository;
+    private final NotificationRepository notificationRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PositionAllocator positionAllocator;
+    private final WorkItemChangeLog changeLog;
+
+    // What was done, plus the events to broadcast and the columns to check for crowding once it has committed
+    public record Applied(WorkItemBatchResult result, List<WorkItemSocketEvent> events,
+            Set<WorkItemStatus> repositionedColumns) {
+    }
+
+    /**
+     * Operations must already have passed WorkItemOperation.isValid().
+     * Later operations on the same item win; moves and assignments of an item that
+     * the same request deletes are dropped.
+     *
+     * Throws IllegalArgumentException, before anything is written, when an item is not
+     * in the project or an assignee is not a member of the workspace.
+     */
+    @Transactional
+    public Applied apply(AuthenticatedUser actor, UUID workspaceId, UUID projectId,
+            List<WorkItemOperation> operations) {
+        Set<UUID> itemIds = operations.stream()
+                .map(WorkItemOperation::workItemId)
+                .collect(Collectors.toSet());
+        Map<UUID, WorkItemRef> items = workItemRepository.findRefsByProjectIdAndIdIn(projectId, itemIds).stream()
+                .collect(Collectors.toMap(WorkItemRef::id, Function.identity()));
+        if (items.size() != itemIds.size()) {
+            throw new IllegalArgumentException("Work item not found in project");
+        }
+
+        Set<UUID> assigneeIds = operations.stream()
+                .filter(operation -> operation.op() == Kind.ASSIGN && operation.assigneeId() != null)
+                .map(WorkItemOperation::assigneeId)
+                .collect(Collectors.toSet());
+        Map<UUID, UserSummary> assignees = assigneeIds.isEmpty()
+                ? Map.of()
+                : membershipRepository.findMemberSummaries(workspaceId, assigneeIds).stream()
+                        .collect(Collectors.toMap(UserSummary::id, Function.identity()));
+        if (assignees.size() != assigneeIds.size()) {
+            throw new IllegalArgumentException("Assignee is not a member of the workspace");
+        }
+
+        // Fold the request into at most one move, one assignment and one delete per item
+        Map<UUID, WorkItemOperation> moves = new LinkedHashMap<>();
+        Map<UUID, UUID> assignments = new LinkedHashMap<>(); // null value = unassign
+        Set<UUID> deletes = new LinkedHashSet<>();
+        for (WorkItemOperation operation : operations) {
+            UUID itemId = operation.workItemId();
+            switch (operation.op()) {
+                case MOVE -> moves.merge(itemId, operation, (earlier, later) -> new WorkItemOperation(Kind.MOVE,
+                        itemId,
+                        later.status() != null ? later.status() : earlier.status(),
+                        later.position() != null ? later.position() : earlier.position(),
+                        null));
+                case ASSIGN -> assignments.put(itemId, operation.assigneeId());
+                case DELETE -> deletes.add(itemId);
+            }
+        }
+        moves.keySet().removeAll(deletes);
+        assignments.keySet().removeAll(deletes);
+
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp updatedAt = Timestamp.valueOf(now);
+        Map<UUID, Map<String, Object>> patches = new LinkedHashMap<>();
+
+        // Version each statement gave each item, for the change log and the patches
+        Map<UUID, Long> versions = new LinkedHashMap<>();
+
+        if (!moves.isEmpty()) {
+            List<WorkItemOperation> rows = new ArrayList<>(moves.values());
+            List<Column> columns = List.of(
+                    new Column("uuid", rows.stream().map(WorkItemOperation::workItemId).toArray()),
+                    new Column("text", rows.stream()
+                            .map(move -> move.status() != null ? move.status().name() : null).toArray()),
+                    new Column("float8", rows.stream().map(WorkItemOperation::position).toArray()));
+            update(MOVE_SQL, updatedAt, projectId, columns, (itemId, version) -> {
+                versions.put(itemId, version);
+                changeLog.record(itemId, version, movedFields(moves.get(itemId)));
+            });
+            for (WorkItemOperation move : rows) {
+                Map<String, Object> changes = patch(patches, move.workItemId());
+                if (move.status() != null) {
+                    changes.put("status", move.status());
+                }
+                if (move.position() != null) {
+                    changes.put("position", move.position());
+                    positionAllocator.observe(projectId, move.position());
+                }
+            }
+        }
+
+        if (!assignments.isEmpty()) {
+            List<Map.Entry<UUID, UUID>> rows = new ArrayList<>(assignments.entrySet());
+            List<Column> columns = List.of(
+                    new Column("uuid", rows.stream().map(Map.Entry::getKey).toArray()),
+                    new Column("uuid", rows.stream().map(Map.Entry::getValue).toArray()));
+            update(ASSIGN_SQL, updatedAt, projectId, columns, (itemId, version) -> {
+                versions.put(itemId, version);
+                changeLog.record(itemId, version, Set.of("assignee"));
+            });
+            for (Map.Entry<UUID, UUID> assignment : rows) {
+                UUID assigneeId = assignment.getValue();
+                // null when unassigned
+                patch(patches, assignment.getKey()).put("assignee", assigneeId != null ? assignees.get(assigneeId) : null);
+            }
+        }
+
+        if (!deletes.isEmpty()) {
+            // Their notifications cascade in the database, so those recipients' counts are reloaded
+            List<UUID> recipientIds = notificationRepository.findRecipientIdsByWorkItemIdIn(deletes);
+            List<UUID> rows = new ArrayList<>(deletes);
+            jdbcTemplate.batchUpdate(DELETE_SQL, rows, rows.size(), (statement, itemId) -> {
+                statement.setObject(1, itemId);
+                statement.setObject(2, projectId);
+            });
+            if (!recipientIds.isEmpty()) {
+                eventPublisher.publishEvent(new NotificationsPurgedEvent(recipientIds));
+            }
+        }
+
+        List<PendingNotification> notifications = notifications(actor, workspaceId, items, moves, assignments);
+        if (!notifications.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationsRequestedEvent(notifications));
+        }
+
+        List<WorkItemSocketEvent> events = new ArrayList<>();
+        patches.forEach((itemId, changes) -> {
+            changes.put("updatedAt", now);
+            changes.put("version", versions.get(itemId));
+            events.add(WorkItemSocketEvent.patched(itemId.toString(), changes));
+        });
+        deletes.forEach(itemId -> events.add(WorkItemSocketEvent.deleted(itemId.toString())));
+
+        // Columns that received new positions, checked once each by the caller after commit
+        Set<WorkItemStatus> repositionedColumns = moves.values().stream()
+                .filter(move -> move.position() != null)
+                .map(move -> move.status() != null ? move.status() : items.get(move.workItemId()).status())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+
+        return new Applied(new WorkItemBatchResult(moves.size(), assignments.size(), deletes.size()), events,
+                repositionedColumns);
+    }
+
+    /*
+     * Runs MOVE_SQL or ASSIGN_SQL for all rows at once, one array per column with the
+     * item ids first, and hands each updated item's new version to the callback. The
+     * moves run first, so an item that was also assigned ends on the assignment's version.
+     */
+    private void update(String sql, Timestamp updatedAt, UUID projectId, List<Column> columns,
+            ObjLongConsumer<UUID> onVersion) {
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setTimestamp(1, updatedAt);
+            for (int i = 0; i < columns.size(); i++) {
+                Column column = columns.get(i);
+                statement.setArray(i + 2, connection.createArrayOf(column.type(), column.values()));
+            }
+            statement.setObject(columns.size() + 2, projectId);
+            return statement;
+        }, rs -> {
+            onVersion.accept(rs.getObject("id", UUID.class), rs.getLong("version"));
+        });
+    }
+
+    private record Column(String type, Object[] values) {
+    }
+
+    private static Set<String> movedFields(WorkItemOperation move) {
+        Set<String> fields = new LinkedHashSet<>();
+        if (move.status() != null) {
+            fields.add("status");
+        }
+        if (move.position() != null) {
+            fields.add("position");
+        }
+        return fields;
+    }
+
+    // Same rules as a single PATCH: new assignees get "assigned", existing ones "updated", never the actor
+    private List<PendingNotification> notifications(AuthenticatedUser actor, UUID workspaceId,
+            Map<UUID, WorkItemRef> items, Map<UUID, WorkItemOperation> moves, Map<UUID, UUID> assignments) {
+        Set<UUID> touched = new LinkedHashSet<>(moves.keySet());
+        touched.addAll(assignments.keySet());
+
+        List<PendingNotification> notifications = new ArrayList<>();
+        for (UUID itemId : touched) {
+            WorkItemRef item = items.get(itemId);
+            UUID recipientId = assignments.containsKey(itemId) ? assignments.get(itemId) : item.assigneeId();
+            if (recipientId == null || recipientId.equals(actor.id())) {
+                continue;
+            }
+            notifications.add(Objects.equals(recipientId, item.assigneeId())
+                    ? PendingNotification.updated(recipientId, workspaceId, itemId, item.title())
+                    : PendingNotification.assigned(recipientId, workspaceId, itemId, item.title()));
+        }
+        return notifications;
+    }
+
+    private static Map<String, Object> patch(Map<UUID, Map<String, Object>> patches, UUID itemId) {
+        return patches.computeIfAbsent(itemId, id -> new LinkedHashMap<>());
+    }
+}
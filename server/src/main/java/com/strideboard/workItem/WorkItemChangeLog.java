@@ -0,0 +1,86 @@
+package com.strideboard.workItem;
+
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Recent field-level history of each work item: which fields every version changed.
+ *
+ * Lets a merge-mode PATCH based on an older version go through when none of its fields
+ * were touched since. PATCHes, bulk operations and column renumbering on this node are
+ * recorded, so when the history between two versions is incomplete (expired, trimmed or
+ * another node) the answer is empty and the caller treats the request as a conflict.
+ * Hit/miss rates are published under the "work-item-changes" cache metrics.
+ */
+@Component
+public class WorkItemChangeLog {
+    private static final int MAX_VERSIONS_PER_ITEM = 32;
+
+    private record Change(long version, Set<String> fields) {
+    }
+
+    // Oldest first; each deque is guarded by itself
+    private final Cache<UUID, Deque<Change>> history;
+
+    public WorkItemChangeLog(MeterRegistry meterRegistry,
+            @Value("${app.cache.work-item-changes.max-size:50000}") long maxSize,
+            @Value("${app.cache.work-item-changes.ttl:10m}") Duration ttl) {
+        this.history = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, history, "work-item-changes");
+    }
+
+    public void record(UUID workItemId, long version, Set<String> fields) {
+        Deque<Change> changes = history.get(workItemId, id -> new ArrayDeque<>());
+        synchronized (changes) {
+            changes.addLast(new Change(version, Set.copyOf(fields)));
+            if (changes.size() > MAX_VERSIONS_PER_ITEM) {
+                changes.removeFirst();
+            }
+        }
+    }
+
+    // Fields changed by versions after baseVersion up to currentVersion, or empty when the log has a gap
+    public Optional<Set<String>> changedSince(UUID workItemId, long baseVersion, long currentVersion) {
+        Deque<Change> changes = history.getIfPresent(workItemId);
+        if (changes == null) {
+            return Optional.empty();
+        }
+
+        Set<String> fields = new HashSet<>();
+        long expected = baseVersion + 1;
+        synchronized (changes) {
+            Iterator<Change> iterator = changes.iterator();
+            while (iterator.hasNext() && expected <= currentVersion) {
+                Change change = iterator.next();
+                if (change.version() < expected) {
+                    continue;
+                }
+                if (change.version() != expected) {
+                    return Optional.empty();
+                }
+                fields.addAll(change.fields());
+                expected++;
+            }
+        }
+        return expected > currentVersion ? Optional.of(fields) : Optional.empty();
+    }
+}
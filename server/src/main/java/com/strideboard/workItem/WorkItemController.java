@@ -1,10 +1,15 @@
 package com.strideboard.workItem;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.ResponseEntity;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -13,29 +18,47 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.strideboard.data.notification.Notification;
+import com.strideboard.auth.PrincipalCache;
 import com.strideboard.data.notification.NotificationRepository;
-import com.strideboard.data.notification.NotificationType;
-import com.strideboard.data.project.Project;
 import com.strideboard.data.project.ProjectRepository;
+import com.strideboard.data.user.AuthenticatedUser;
 import com.strideboard.data.user.User;
 import com.strideboard.data.user.UserRepository;
 import com.strideboard.data.workitem.CreateWorkItemRequest;
 import com.strideboard.data.workitem.UpdateWorkItemRequest;
 import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemAccess;
+import com.strideboard.data.workitem.WorkItemBatchRequest;
+import com.strideboard.data.workitem.WorkItemBatchResult;
+import com.strideboard.data.workitem.WorkItemCursor;
+import com.strideboard.data.workitem.WorkItemFilter;
+import com.strideboard.data.workitem.WorkItemOperation;
+import com.strideboard.data.workitem.WorkItemPage;
 import com.strideboard.data.workitem.WorkItemPriority;
 import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemState;
 import com.strideboard.data.workitem.WorkItemStatus;
 import com.strideboard.data.workitem.WorkItemType;
-import com.strideboard.data.workspace.Membership;
-import com.strideboard.data.workspace.MembershipRepository;
+import com.strideboard.data.workitem.WorkItemView;
+import com.strideboard.notification.NotificationsPurgedEvent;
+import com.strideboard.notification.NotificationsRequestedEvent;
+import com.strideboard.notification.PendingNotification;
+import com.strideboard.realtime.ProjectBroadcaster;
+import com.strideboard.realtime.WorkItemPatch;
 import com.strideboard.realtime.WorkItemSocketEvent;
-import com.strideboard.realtime.WorkItemSocketEvent.EventType;
+import com.strideboard.workspace.MembershipCache;
 
 import lombok.RequiredArgsConstructor;
 
+/**
+ * Work-item endpoints. Every request checks the caller's role against MembershipCache
+ * (no query when cached, so repeated 403s are free) and then the project/item hierarchy
+ * in one statement (WorkItemAccess). The role can lag a membership change made on
+ * another node by up to the cache's multi-node-ttl; see MembershipCache.
+ */
 @RestController
 @RequestMapping("/api/projects/{workspaceId}/{projectId}/work-items")
 @RequiredArgsConstructor
@@ -43,60 +66,108 @@ public class WorkItemController {
 
     private final WorkItemRepository workItemRepository;
     private final ProjectRepository projectRepository;
-    private final MembershipRepository membershipRepository;
+    private final MembershipCache membershipCache;
     private final UserRepository userRepository;
     private final NotificationRepository notificationRepository;
+    private final PrincipalCache principalCache;
+    private final ApplicationEventPublisher eventPublisher;
 
-    private final SimpMessagingTemplate messagingTemplate;
+    // Broadcasts to: /topic/project/{projectId}
+    private final ProjectBroadcaster broadcaster;
+    private final WorkItemBatchService batchService;
+    private final WorkItemPositions positions;
+    private final PositionAllocator positionAllocator;
+    private final WorkItemChangeLog changeLog;
 
-    private void broadcastChange(UUID projectId, WorkItemSocketEvent event) {
-        // Broadcasts to: /topic/project/{projectId}
-        messagingTemplate.convertAndSend("/topic/project/" + projectId, event);
-    }
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_BATCH_OPERATIONS = 500;
 
     @GetMapping
-    public ResponseEntity<List<WorkItem>> getProjectWorkItems(
+    public ResponseEntity<List<WorkItemView>> getProjectWorkItems(
             @PathVariable UUID workspaceId,
             @PathVariable UUID projectId,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        if (!membershipRepository.existsByUserIdAndWorkspaceId(user.getId(), workspaceId)) {
+        AuthenticatedUser user = principalCache.resolve(auth);
+        if (!membershipCache.isMember(user.id(), workspaceId)) {
             return ResponseEntity.status(403).build();
         }
+        WorkItemAccess access = workItemRepository.findProjectAccess(projectId);
 
         // Validate Project Hierarchy
-        if (!validateProjectInWorkspace(projectId, workspaceId)) {
+        if (!access.projectInWorkspace(workspaceId)) {
+            return ResponseEntity.status(400).build();
+        }
+
+        return ResponseEntity.ok(workItemRepository.findViewsByProjectId(projectId));
+    }
+
+    /**
+     * Keyset-paginated listing ordered by (status, position, id).
+     * Path: GET /api/projects/{workspaceId}/{projectId}/work-items/page?status=TODO&limit=50&cursor=...
+     */
+    @GetMapping("/page")
+    public ResponseEntity<WorkItemPage> getProjectWorkItemsPage(
+            @PathVariable UUID workspaceId,
+            @PathVariable UUID projectId,
+            @RequestParam(required = false) WorkItemStatus status,
+            @RequestParam(required = false) UUID assigneeId,
+            @RequestParam(required = false) WorkItemPriority priority,
+            @RequestParam(required = false) WorkItemType type,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication auth) {
+
+        AuthenticatedUser user = principalCache.resolve(auth);
+        if (!membershipCache.isMember(user.id(), workspaceId)) {
+            return ResponseEntity.status(403).build();
+        }
+        WorkItemAccess access = workItemRepository.findProjectAccess(projectId);
+
+        if (!access.projectInWorkspace(workspaceId)) {
             return ResponseEntity.status(400).build();
         }
 
-        return ResponseEntity.ok(workItemRepository.findByProject_IdOrderByPositionAsc(projectId));
+        WorkItemCursor after = null;
+        if (cursor != null && !cursor.isBlank()) {
+            try {
+                after = WorkItemCursor.decode(cursor);
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().build();
+            }
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        WorkItemFilter filter = new WorkItemFilter(projectId, status, assigneeId, priority, type);
+
+        // Fetch one extra row to know whether another page exists
+        List<WorkItemView> items = workItemRepository.findPage(filter, after, pageSize + 1);
+
+        String nextCursor = null;
+        if (items.size() > pageSize) {
+            items = items.subList(0, pageSize);
+            nextCursor = WorkItemCursor.of(items.get(pageSize - 1)).encode();
+        }
+
+        return ResponseEntity.ok(new WorkItemPage(items, nextCursor));
     }
 
     @PostMapping
-    public ResponseEntity<WorkItem> createWorkItem(
+    public ResponseEntity<WorkItemView> createWorkItem(
             @PathVariable UUID workspaceId,
             @PathVariable UUID projectId,
             @RequestBody CreateWorkItemRequest request,
             Authentication auth) {
 
-        User creator = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Membership membership = membershipRepository.findByUserIdAndWorkspaceId(creator.getId(), workspaceId)
-                .orElse(null);
+        AuthenticatedUser creator = principalCache.resolve(auth);
 
         // Security: Must be ADMIN or MEMBER (not VIEWER)
-        if (membership == null || "VIEWER".equalsIgnoreCase(membership.getRole())) {
+        if (!membershipCache.canEdit(creator.id(), workspaceId)) {
             return ResponseEntity.status(403).build();
         }
+        WorkItemAccess access = workItemRepository.findProjectAccess(projectId);
 
-        Project project = projectRepository.findById(projectId)
-                .orElseThrow(() -> new RuntimeException("Project not found"));
-
-        if (!project.getWorkspace().getId().equals(workspaceId)) {
+        if (!access.projectInWorkspace(workspaceId)) {
             return ResponseEntity.status(400).build();
         }
 
@@ -107,17 +178,16 @@ public class WorkItemController {
         // Handle Assignee
         User assignee = null;
         if (request.assigneeId() != null) {
-            assignee = userRepository.findById(request.assigneeId())
-                    .orElseThrow(() -> new RuntimeException("Assignee not found"));
-
-            if (!membershipRepository.existsByUserIdAndWorkspaceId(assignee.getId(), workspaceId)) {
+            if (!membershipCache.isMember(request.assigneeId(), workspaceId)) {
                 return ResponseEntity.badRequest().build();
             }
+
+            assignee = userRepository.findById(request.assigneeId())
+                    .orElseThrow(() -> new RuntimeException("Assignee not found"));
         }
 
-        // Auto-position logic
-        Double maxPosition = workItemRepository.findMaxPositionByProjectId(projectId);
-        double newPosition = (maxPosition != null) ? maxPosition + 1000.0 : 1000.0;
+        // Appended to the end; reserved in blocks from projects.last_position, no MAX query per create
+        double newPosition = positionAllocator.next(projectId);
 
         WorkItem workItem = WorkItem.builder()
                 .title(request.title())
@@ -126,55 +196,54 @@ public class WorkItemController {
                 .priority(request.priority() != null ? request.priority() : WorkItemPriority.MEDIUM)
                 .type(request.type() != null ? request.type() : WorkItemType.TASK)
                 .position(newPosition)
-                .project(project)
-                .creator(creator)
+                .project(projectRepository.getReferenceById(projectId))
+                .creator(userRepository.getReferenceById(creator.id()))
                 .assignee(assignee)
                 .build();
 
         WorkItem savedWorkItem = workItemRepository.save(workItem);
 
-        // Send Notification
-        if (assignee != null && !assignee.getId().equals(creator.getId())) {
-            Notification notification = Notification.builder()
-                    .recipient(assignee)
-                    .type(NotificationType.UPDATE)
-                    .workspace(project.getWorkspace())
-                    .workItem(savedWorkItem)
-                    .title("New Task Assigned")
-                    .subtitle("You have been assigned to: " + savedWorkItem.getTitle())
-                    .build();
-            notificationRepository.save(notification);
-        }
-
-        broadcastChange(projectId, new WorkItemSocketEvent(EventType.CREATED, savedWorkItem, null));
-        return ResponseEntity.ok(savedWorkItem);
+        // Send Notification (written asynchronously by the dispatcher)
+        if (assignee != null && !assignee.getId().equals(creator.id())) {
+            eventPublisher.publishEvent(NotificationsRequestedEvent.of(PendingNotification.assigned(
+                    assignee.getId(), workspaceId, savedWorkItem.getId(), savedWorkItem.getTitle())));
+        }
+
+        WorkItemView view = workItemRepository.findViewById(savedWorkItem.getId())
+                .orElseThrow(() -> new RuntimeException("Work item not found"));
+
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.created(view));
+        return ResponseEntity.ok(view);
     }
 
     @PatchMapping("/{workItemId}")
-    public ResponseEntity<WorkItem> updateWorkItem(
+    public ResponseEntity<WorkItemView> updateWorkItem(
             @PathVariable UUID workspaceId,
             @PathVariable UUID projectId,
             @PathVariable UUID workItemId,
             @RequestBody UpdateWorkItemRequest request,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
-
-        Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId)
-                .orElse(null);
+        AuthenticatedUser user = principalCache.resolve(auth);
+        ResponseEntity<WorkItemView> denied = checkItemAccess(user, workspaceId, projectId, workItemId);
+        if (denied != null) {
+            return denied;
+        }
 
-        if (membership == null || "VIEWER".equalsIgnoreCase(membership.getRole())) {
-            return ResponseEntity.status(403).build();
+        if (request.isPlacementOnly()) {
+            return updatePlacement(user, workspaceId, projectId, workItemId, request);
         }
 
         WorkItem workItem = workItemRepository.findById(workItemId)
                 .orElseThrow(() -> new RuntimeException("Work item not found"));
 
-        if (!validateHierarchy(workItem, projectId, workspaceId)) {
-            return ResponseEntity.status(400).build();
+        // Based on an older version: rejected, unless merging and its fields were not touched since
+        if (request.version() != null && request.version() != workItem.getVersion()
+                && !canMerge(request, workItemId, workItem.getVersion())) {
+            return conflict(workItemId);
         }
-        UUID oldAssigneeId = (workItem.getAssignee() != null) ? workItem.getAssignee().getId() : null;
+
+        WorkItemPatch.Snapshot before = WorkItemPatch.Snapshot.of(workItem);
 
         // Apply Updates
         if (request.title() != null && !request.title().isBlank())
@@ -196,50 +265,83 @@ public class WorkItemController {
             workItem.setAssignee(null);
         } else if (request.assigneeId() != null) {
             // Update to a specific new assignee
-            User assignee = userRepository.findById(request.assigneeId())
-                    .orElseThrow(() -> new RuntimeException("Assignee not found"));
-
-            if (!membershipRepository.existsByUserIdAndWorkspaceId(assignee.getId(), workspaceId)) {
+            if (!membershipCache.isMember(request.assigneeId(), workspaceId)) {
                 return ResponseEntity.badRequest().build();
             }
+
+            User assignee = userRepository.findById(request.assigneeId())
+                    .orElseThrow(() -> new RuntimeException("Assignee not found"));
             workItem.setAssignee(assignee);
         }
 
-        WorkItem savedWorkItem = workItemRepository.save(workItem);
+        // The UPDATE is conditional on the version read above, so a concurrent write also ends in a 409
+        WorkItem savedWorkItem;
+        try {
+            savedWorkItem = workItemRepository.saveAndFlush(workItem);
+        } catch (OptimisticLockingFailureException e) {
+            return conflict(workItemId);
+        }
         User currentAssignee = savedWorkItem.getAssignee();
+        notifyAssignee(user, workspaceId, workItemId, savedWorkItem.getTitle(), before.assigneeId(),
+                currentAssignee != null ? currentAssignee.getId() : null);
+
+        WorkItemView view = workItemRepository.findViewById(savedWorkItem.getId())
+                .orElseThrow(() -> new RuntimeException("Work item not found"));
+
+        // Only the fields that actually changed go over the wire
+        return ResponseEntity.ok(
+                publishUpdate(projectId, workItemId, request, view, WorkItemPatch.diff(before, view)));
+    }
 
-        if (currentAssignee != null) {
-            boolean isSelfUpdate = currentAssignee.getId().equals(user.getId());
-
-            if (!isSelfUpdate) {
-                String title = null;
-                String subtitle = null;
-
-                boolean isNewAssignment = oldAssigneeId == null || !oldAssigneeId.equals(currentAssignee.getId());
-
-                if (isNewAssignment) {
-                    title = "New Task Assigned";
-                    subtitle = "You have been assigned to: " + savedWorkItem.getTitle();
-                } else {
-                    title = "Task Updated";
-                    subtitle = "Updates were made to: " + savedWorkItem.getTitle();
-                }
-                Notification notification = Notification.builder()
-                        .recipient(currentAssignee)
-                        .type(NotificationType.UPDATE)
-                        .workspace(savedWorkItem.getProject().getWorkspace())
-                        .workItem(savedWorkItem)
-                        .title(title)
-                        .subtitle(subtitle)
-                        .build();
-
-                notificationRepository.save(notification);
+    /**
+     * PATCH path for moves and (un)assignments: reads the item's state without its
+     * description and writes status, position and assignee in one conditional UPDATE,
+     * instead of loading the entity and rewriting the whole row.
+     */
+    private ResponseEntity<WorkItemView> updatePlacement(AuthenticatedUser user, UUID workspaceId, UUID projectId,
+            UUID workItemId, UpdateWorkItemRequest request) {
+        WorkItemState state = workItemRepository.findStateById(workItemId)
+                .orElseThrow(() -> new RuntimeException("Work item not found"));
+
+        if (request.version() != null && request.version() != state.version()
+                && !canMerge(request, workItemId, state.version())) {
+            return conflict(workItemId);
+        }
+
+        UUID assigneeId = state.assigneeId();
+        if (Boolean.TRUE.equals(request.removeAssignee())) {
+            assigneeId = null;
+        } else if (request.assigneeId() != null) {
+            if (!membershipCache.isMember(request.assigneeId(), workspaceId)) {
+                return ResponseEntity.badRequest().build();
             }
+            assigneeId = request.assigneeId();
         }
+        WorkItemStatus status = request.status() != null ? request.status() : state.status();
+        Double position = request.position() != null ? request.position() : state.position();
+
+        // Nothing to write: same response as an entity save that found nothing dirty
+        if (status == state.status() && position.equals(state.position())
+                && Objects.equals(assigneeId, state.assigneeId())) {
+            return workItemRepository.findViewById(workItemId)
+                    .map(ResponseEntity::ok)
+                    .orElse(ResponseEntity.notFound().build());
+        }
+
+        // A reference only: the membership check above already proved the user exists
+        User assignee = assigneeId != null ? userRepository.getReferenceById(assigneeId) : null;
+        int updated = workItemRepository.updatePlacement(workItemId, state.version(), status, position, assignee,
+                LocalDateTime.now());
+        if (updated == 0) {
+            return conflict(workItemId);
+        }
+        notifyAssignee(user, workspaceId, workItemId, state.title(), state.assigneeId(), assigneeId);
 
-        broadcastChange(projectId, new WorkItemSocketEvent(EventType.UPDATED, savedWorkItem, null));
+        WorkItemView view = workItemRepository.findViewById(workItemId)
+                .orElseThrow(() -> new RuntimeException("Work item not found"));
 
-        return ResponseEntity.ok(savedWorkItem);
+        return ResponseEntity.ok(
+                publishUpdate(projectId, workItemId, request, view, WorkItemPatch.placement(state, view)));
     }
 
     @DeleteMapping("/{workItemId}")
@@ -249,40 +351,139 @@ public class WorkItemController {
             @PathVariable UUID workItemId,
             Authentication auth) {
 
-        User user = userRepository.findByEmail(auth.getName())
-                .orElseThrow(() -> new RuntimeException("User not found"));
+        AuthenticatedUser user = principalCache.resolve(auth);
+        ResponseEntity<Void> denied = checkItemAccess(user, workspaceId, projectId, workItemId);
+        if (denied != null) {
+            return denied;
+        }
 
-        Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId)
-                .orElse(null);
+        // The item's notifications go with it (ON DELETE CASCADE), so their recipients' counts are reloaded
+        List<UUID> recipientIds = notificationRepository.findRecipientIdsByWorkItemId(workItemId);
+        workItemRepository.deleteWorkItemById(workItemId);
+        if (!recipientIds.isEmpty()) {
+            eventPublisher.publishEvent(new NotificationsPurgedEvent(recipientIds));
+        }
 
-        if (membership == null || "VIEWER".equalsIgnoreCase(membership.getRole())) {
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.deleted(workItemId.toString()));
+
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Applies many MOVE / ASSIGN / DELETE operations in one transaction, with one
+     * authorization check and one broadcast for the whole request.
+     * Path: POST /api/projects/{workspaceId}/{projectId}/work-items/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<WorkItemBatchResult> applyBatch(
+            @PathVariable UUID workspaceId,
+            @PathVariable UUID projectId,
+            @RequestBody WorkItemBatchRequest request,
+            Authentication auth) {
+
+        AuthenticatedUser user = principalCache.resolve(auth);
+        if (!membershipCache.canEdit(user.id(), workspaceId)) {
             return ResponseEntity.status(403).build();
         }
+        WorkItemAccess access = workItemRepository.findProjectAccess(projectId);
 
-        WorkItem workItem = workItemRepository.findById(workItemId)
-                .orElseThrow(() -> new RuntimeException("Work item not found"));
-
-        if (!validateHierarchy(workItem, projectId, workspaceId)) {
+        if (!access.projectInWorkspace(workspaceId)) {
             return ResponseEntity.status(400).build();
         }
 
-        workItemRepository.delete(workItem);
+        List<WorkItemOperation> operations = request.operations();
+        if (operations == null || operations.isEmpty() || operations.size() > MAX_BATCH_OPERATIONS
+                || !operations.stream().allMatch(WorkItemOperation::isValid)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        WorkItemBatchService.Applied applied;
+        try {
+            applied = batchService.apply(user, workspaceId, projectId, operations);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
 
-        broadcastChange(projectId, new WorkItemSocketEvent(EventType.DELETED, null, workItemId.toString()));
+        // Crowded columns are renumbered after commit, as for a single move; renumbered positions override the moves
+        List<WorkItemSocketEvent> events = new ArrayList<>(applied.events());
+        applied.repositionedColumns()
+                .forEach(status -> events.addAll(positions.rebalanceIfCrowded(projectId, status)));
 
-        return ResponseEntity.noContent().build();
+        broadcaster.broadcastAll(projectId, events);
+        return ResponseEntity.ok(applied.result());
     }
 
     // --- Helpers ---
 
-    private boolean validateProjectInWorkspace(UUID projectId, UUID workspaceId) {
-        return projectRepository.findById(projectId)
-                .map(p -> p.getWorkspace().getId().equals(workspaceId))
-                .orElse(false);
+    // Repeated plain updates are digested into one inbox row by the dispatcher; self-updates notify no one
+    private void notifyAssignee(AuthenticatedUser user, UUID workspaceId, UUID workItemId, String title,
+            UUID oldAssigneeId, UUID assigneeId) {
+        if (assigneeId == null || assigneeId.equals(user.id())) {
+            return;
+        }
+        boolean isNewAssignment = oldAssigneeId == null || !oldAssigneeId.equals(assigneeId);
+        PendingNotification notification = isNewAssignment
+                ? PendingNotification.assigned(assigneeId, workspaceId, workItemId, title)
+                : PendingNotification.updated(assigneeId, workspaceId, workItemId, title);
+        eventPublisher.publishEvent(NotificationsRequestedEvent.of(notification));
     }
 
-    private boolean validateHierarchy(WorkItem item, UUID projectId, UUID workspaceId) {
-        return item.getProject().getId().equals(projectId) &&
-                item.getProject().getWorkspace().getId().equals(workspaceId);
+    /**
+     * Broadcasts a PATCH's changed fields and renumbers the column when a drop left too small
+     * a gap. Returns the view to answer with: re-read when the renumbering moved this item,
+     * so the caller does not keep the pre-renumber position and version.
+     */
+    private WorkItemView publishUpdate(UUID projectId, UUID workItemId, UpdateWorkItemRequest request,
+            WorkItemView view, Map<String, Object> changes) {
+        if (!changes.isEmpty()) {
+            changeLog.record(workItemId, view.version(), request.fields());
+            broadcaster.broadcast(projectId, WorkItemSocketEvent.patched(workItemId.toString(), changes));
+        }
+
+        if (!changes.containsKey("position")) {
+            return view;
+        }
+        positionAllocator.observe(projectId, view.position());
+        List<WorkItemSocketEvent> renumbered = positions.rebalanceIfCrowded(projectId, view.status(), workItemId,
+                view.position());
+        broadcaster.broadcastAll(projectId, renumbered);
+
+        boolean moved = renumbered.stream().anyMatch(event -> workItemId.toString().equals(event.getWorkItemId()));
+        return moved ? workItemRepository.findViewById(workItemId).orElse(view) : view;
+    }
+
+    private boolean canMerge(UpdateWorkItemRequest request, UUID workItemId, long currentVersion) {
+        if (!Boolean.TRUE.equals(request.merge())) {
+            return false;
+        }
+        return changeLog.changedSince(workItemId, request.version(), currentVersion)
+                .filter(changed -> changed.stream().noneMatch(request.fields()::contains))
+                .isPresent();
+    }
+
+    // 409 carrying the current state, so the client can rebase its edit and retry
+    private ResponseEntity<WorkItemView> conflict(UUID workItemId) {
+        return workItemRepository.findViewById(workItemId)
+                .map(view -> ResponseEntity.status(409).body(view))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    // Returns the error response for a write on a single item, or null when allowed
+    private <T> ResponseEntity<T> checkItemAccess(AuthenticatedUser user, UUID workspaceId, UUID projectId,
+            UUID workItemId) {
+        if (!membershipCache.canEdit(user.id(), workspaceId)) {
+            return ResponseEntity.status(403).build();
+        }
+
+        WorkItemAccess access = workItemRepository.findWorkItemAccess(projectId, workItemId);
+
+        if (!access.itemExists()) {
+            return ResponseEntity.notFound().build();
+        }
+
+        if (!access.projectInWorkspace(workspaceId) || !access.itemInProject(projectId)) {
+            return ResponseEntity.status(400).build();
+        }
+        return null;
     }
 }
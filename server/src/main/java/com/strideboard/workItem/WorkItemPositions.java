@@ -0,0 +1,112 @@
+package com.strideboard.workItem;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.realtime.WorkItemSocketEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps WorkItem.position splittable.
+ *
+ * Clients order a column by dropping an item at the midpoint of its neighbours, which
+ * halves the gap each time; repeated drops into the same spot eventually leave two
+ * doubles that cannot be told apart. Once a moved item lands closer than minGap to a
+ * neighbour, its column (project + status) is renumbered to STEP, 2*STEP, ... in one
+ * UPDATE, keeping the current order, and the new positions are broadcast as patches.
+ *
+ * Renumbering is a write like any other: each moved row gets a new version, carried in
+ * its patch and recorded in the change log as a position change. A drag computed from
+ * the old neighbour positions is then a conflict instead of landing in the wrong place
+ * in the renumbered column, while merge-mode edits of other fields still go through.
+ */
+@Service
+@RequiredArgsConstructor
+public class WorkItemPositions {
+    public static final double STEP = 1000.0;
+
+    // Absolute floor, plus a margin of ~4500 ulps so large positions are caught long before they collide
+    private static final double MIN_GAP = 1e-6;
+    private static final double RELATIVE_GAP = 1e-12;
+
+    private static final String NEIGHBOUR_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM work_items
+                WHERE project_id = ? AND status = ? AND id <> ? AND position BETWEEN ? AND ?)
+            """;
+
+    private static final String CROWDED_COLUMN_SQL = """
+            SELECT EXISTS (
+                SELECT 1 FROM (
+                    SELECT position, position - LAG(position) OVER (ORDER BY position, id) AS gap
+                    FROM work_items
+                    WHERE project_id = ? AND status = ?) g
+                WHERE g.gap < GREATEST(?, ABS(g.position) * ?))
+            """;
+
+    private static final String RENUMBER_SQL = """
+            UPDATE work_items w
+            SET position = r.rank * ?, version = w.version + 1
+            FROM (
+                SELECT id, ROW_NUMBER() OVER (ORDER BY position, id) AS rank
+                FROM work_items
+                WHERE project_id = ? AND status = ?) r
+            WHERE w.id = r.id AND w.position <> r.rank * ?
+            RETURNING w.id, w.position, w.version
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final WorkItemChangeLog changeLog;
+
+    // Smallest gap still considered safe to split around this position
+    public static double minGap(double position) {
+        return Math.max(MIN_GAP, Math.abs(position) * RELATIVE_GAP);
+    }
+
+    /**
+     * Checks whether the item just moved to this position sits too close to a neighbour,
+     * and renumbers its column if so. Returns the patches to broadcast (empty when nothing moved).
+     */
+    @Transactional
+    public List<WorkItemSocketEvent> rebalanceIfCrowded(UUID projectId, WorkItemStatus status, UUID itemId,
+            double position) {
+        double gap = minGap(position);
+        Boolean crowded = jdbcTemplate.queryForObject(NEIGHBOUR_SQL, Boolean.class,
+                projectId, status.name(), itemId, position - gap, position + gap);
+        return Boolean.TRUE.equals(crowded) ? renumber(projectId, status) : List.of();
+    }
+
+    // Column-wide variant for bulk moves, where checking item by item would cost a query each
+    @Transactional
+    public List<WorkItemSocketEvent> rebalanceIfCrowded(UUID projectId, WorkItemStatus status) {
+        Boolean crowded = jdbcTemplate.queryForObject(CROWDED_COLUMN_SQL, Boolean.class,
+                projectId, status.name(), MIN_GAP, RELATIVE_GAP);
+        return Boolean.TRUE.equals(crowded) ? renumber(projectId, status) : List.of();
+    }
+
+    // One UPDATE for the whole column; only rows whose position changes are written, versioned and returned
+    @Transactional
+    public List<WorkItemSocketEvent> renumber(UUID projectId, WorkItemStatus status) {
+        return jdbcTemplate.query(RENUMBER_SQL,
+                (rs, rowNum) -> {
+                    UUID itemId = rs.getObject("id", UUID.class);
+                    long version = rs.getLong("version");
+                    changeLog.record(itemId, version, Set.of("position"));
+
+                    Map<String, Object> changes = new LinkedHashMap<>();
+                    changes.put("position", rs.getDouble("position"));
+                    changes.put("version", version);
+                    return WorkItemSocketEvent.patched(itemId.toString(), changes);
+                },
+                STEP, projectId, status.name(), STEP);
+    }
+}
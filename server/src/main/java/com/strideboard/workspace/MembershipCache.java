@@ -0,0 +1,87 @@
+package com.strideboard.workspace;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.UUID;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.strideboard.data.workspace.MembershipRepository;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * In-memory index of (userId, workspaceId) -> role used by the authorization checks.
+ * Non-members are cached too (as an empty role) so repeated 403s stay cheap.
+ * Invalidated through MembershipChangedEvent once the writing transaction commits.
+ *
+ * That event only reaches the node that made the change. When several nodes share the
+ * database (app.cluster.multi-node), entries expire after multi-node-ttl (30s by
+ * default) instead of ttl: a removed member keeps access on another node, or a new one
+ * is refused there, for at most that long.
+ */
+@Component
+public class MembershipCache {
+    private final MembershipRepository membershipRepository;
+    private final LoadingCache<Key, Optional<String>> cache;
+
+    public MembershipCache(MembershipRepository membershipRepository,
+            MeterRegistry meterRegistry,
+            @Value("${app.cache.memberships.max-size:50000}") long maxSize,
+            @Value("${app.cache.memberships.ttl:10m}") Duration ttl,
+            @Value("${app.cache.memberships.multi-node-ttl:30s}") Duration multiNodeTtl,
+            @Value("${app.cluster.multi-node:false}") boolean multiNode) {
+        this.membershipRepository = membershipRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(multiNode ? multiNodeTtl : ttl)
+                .recordStats()
+                .build(this::load);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "memberships");
+    }
+
+    // Role of the user in the workspace ("ADMIN", "MEMBER", "VIEWER"), empty if not a member
+    public Optional<String> findRole(UUID userId, UUID workspaceId) {
+        return cache.get(new Key(userId, workspaceId));
+    }
+
+    public boolean isMember(UUID userId, UUID workspaceId) {
+        return findRole(userId, workspaceId).isPresent();
+    }
+
+    // Members and admins can edit, viewers are read-only
+    public boolean canEdit(UUID userId, UUID workspaceId) {
+        return findRole(userId, workspaceId)
+                .filter(role -> !"VIEWER".equalsIgnoreCase(role))
+                .isPresent();
+    }
+
+    public boolean isAdmin(UUID userId, UUID workspaceId) {
+        return findRole(userId, workspaceId)
+                .filter(role -> "ADMIN".equalsIgnoreCase(role))
+                .isPresent();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMembershipChanged(MembershipChangedEvent event) {
+        if (event.userId() != null) {
+            cache.invalidate(new Key(event.userId(), event.workspaceId()));
+            return;
+        }
+        // Workspace-wide change: drop every entry belonging to it
+        cache.asMap().keySet().removeIf(key -> key.workspaceId().equals(event.workspaceId()));
+    }
+
+    private Optional<String> load(Key key) {
+        return membershipRepository.findRoleByUserIdAndWorkspaceId(key.userId(), key.workspaceId());
+    }
+
+    private record Key(UUID userId, UUID workspaceId) {
+    }
+}
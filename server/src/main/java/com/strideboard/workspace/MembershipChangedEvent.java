@@ -0,0 +1,18 @@
+package com.strideboard.workspace;
+
+import java.util.UUID;
+
+/**
+ * Published whenever a membership is added, removed or changes role.
+ * A null userId means every membership of the workspace is affected (workspace deleted).
+ */
+public record MembershipChangedEvent(UUID workspaceId, UUID userId) {
+
+    public static MembershipChangedEvent member(UUID workspaceId, UUID userId) {
+        return new MembershipChangedEvent(workspaceId, userId);
+    }
+
+    public static MembershipChangedEvent workspace(UUID workspaceId) {
+        return new MembershipChangedEvent(workspaceId, null);
+    }
+}
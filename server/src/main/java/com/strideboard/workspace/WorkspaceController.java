@@ -3,11 +3,14 @@ package com.strideboard.workspace;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.transaction.annotation.Transactional;
@@ -21,17 +24,22 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
-import com.strideboard.data.notification.Notification;
+import com.strideboard.auth.PrincipalCache;
 import com.strideboard.data.notification.NotificationRepository;
-import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.AuthenticatedUser;
 import com.strideboard.data.user.User;
 import com.strideboard.data.user.UserRepository;
+import com.strideboard.data.user.UserSummary;
 import com.strideboard.data.workspace.AddMembersRequest;
 import com.strideboard.data.workspace.CreateWorkspaceRequest;
 import com.strideboard.data.workspace.Membership;
 import com.strideboard.data.workspace.MembershipRepository;
 import com.strideboard.data.workspace.Workspace;
 import com.strideboard.data.workspace.WorkspaceRepository;
+import com.strideboard.notification.NotificationsPurgedEvent;
+import com.strideboard.notification.NotificationsRequestedEvent;
+import com.strideboard.notification.PendingNotification;
+import com.strideboard.user.UserSearch;
 
 import lombok.RequiredArgsConstructor;
 
@@ -43,14 +51,19 @@ public class WorkspaceController {
         private final MembershipRepository membershipRepository;
         private final UserRepository userRepository;
         private final NotificationRepository notificationRepository;
+        private final PrincipalCache principalCache;
+        private final MembershipCache membershipCache;
+        private final ApplicationEventPublisher eventPublisher;
+        private final UserSearch userSearch;
+
+        private static final int SEARCH_LIMIT = 10;
 
         @GetMapping
         @Transactional(readOnly = true)
         public ResponseEntity<List<Workspace>> getMyWorkspaces(Authentication auth) {
-                User user = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser user = principalCache.resolve(auth);
 
-                List<Workspace> workspaces = user.getMemberships().stream()
+                List<Workspace> workspaces = membershipRepository.findByUserId(user.id()).stream()
                                 .map(Membership::getWorkspace)
                                 .collect(Collectors.toList());
 
@@ -59,10 +72,9 @@ public class WorkspaceController {
 
         @GetMapping("/{workspaceId}")
         public ResponseEntity<Workspace> getWorkspaceById(@PathVariable UUID workspaceId, Authentication auth) {
-                User user = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser user = principalCache.resolve(auth);
 
-                if (!membershipRepository.existsByUserIdAndWorkspaceId(user.getId(), workspaceId)) {
+                if (!membershipCache.isMember(user.id(), workspaceId)) {
                         return ResponseEntity.status(403).build();
                 }
 
@@ -77,10 +89,9 @@ public class WorkspaceController {
                         @PathVariable UUID workspaceId,
                         Authentication auth) {
 
-                User user = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser user = principalCache.resolve(auth);
 
-                if (!membershipRepository.existsByUserIdAndWorkspaceId(user.getId(), workspaceId)) {
+                if (!membershipCache.isMember(user.id(), workspaceId)) {
                         return ResponseEntity.status(403).build();
                 }
 
@@ -95,8 +106,7 @@ public class WorkspaceController {
         public ResponseEntity<Workspace> createWorkspace(@RequestBody CreateWorkspaceRequest request,
                         Authentication auth) {
 
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
                 Workspace workspace = new Workspace();
                 workspace.setName(request.getName());
@@ -107,17 +117,19 @@ public class WorkspaceController {
                         workspace.setSlug(request.getName().toLowerCase().replaceAll(" ", "-"));
                 }
 
-                workspace.setOwner(currentUser);
+                User owner = userRepository.getReferenceById(currentUser.id());
+                workspace.setOwner(owner);
 
                 Workspace savedWorkspace = workspaceRepository.save(workspace);
 
                 Membership ownerMembership = Membership.builder()
-                                .user(currentUser)
+                                .user(owner)
                                 .workspace(savedWorkspace)
                                 .role("ADMIN")
                                 .build();
 
                 membershipRepository.save(ownerMembership);
+                eventPublisher.publishEvent(MembershipChangedEvent.member(savedWorkspace.getId(), currentUser.id()));
 
                 // Handle initial invites
                 if (request.getMemberEmails() != null && !request.getMemberEmails().isEmpty()) {
@@ -127,49 +139,43 @@ public class WorkspaceController {
                 return ResponseEntity.ok(savedWorkspace);
         }
 
-        // Helper method for invites to keep code clean
-        private void inviteUsers(List<String> emails, Workspace workspace, User sender) {
-                for (String email : emails) {
-                        if (email.equalsIgnoreCase(sender.getEmail()))
-                                continue;
-
-                        String trimmedEmail = email.trim().toLowerCase();
-                        userRepository.findByEmail(trimmedEmail).ifPresent(userToInvite -> {
-                                boolean alreadyMember = membershipRepository.existsByUserIdAndWorkspaceId(
-                                                userToInvite.getId(), workspace.getId());
-
-                                if (!alreadyMember) {
-                                        boolean inviteExists = notificationRepository
-                                                        .existsByRecipientIdAndWorkspaceIdAndType(
-                                                                        userToInvite.getId(), workspace.getId(),
-                                                                        NotificationType.INVITE);
-
-                                        if (!inviteExists) {
-                                                Notification invite = Notification.builder()
-                                                                .recipient(userToInvite)
-                                                                .type(NotificationType.INVITE)
-                                                                .workspace(workspace)
-                                                                .title("Workspace Invitation")
-                                                                .subtitle("You have been invited to join "
-                                                                                + workspace.getName())
-                                                                .build();
-                                                notificationRepository.save(invite);
-                                        }
-                                }
-                        });
+        // Set-based invites: one query each for users, existing members and pending invites,
+        // however many emails are given; the new rows are batch-inserted by the dispatcher
+        private void inviteUsers(List<String> emails, Workspace workspace, AuthenticatedUser sender) {
+                Set<String> normalizedEmails = emails.stream()
+                                .map(email -> email.trim().toLowerCase())
+                                .filter(email -> !email.isEmpty() && !email.equalsIgnoreCase(sender.email()))
+                                .collect(Collectors.toSet());
+                if (normalizedEmails.isEmpty()) {
+                        return;
+                }
+
+                List<UUID> userIds = userRepository.findIdsByEmailIn(normalizedEmails);
+                if (userIds.isEmpty()) {
+                        return;
+                }
+
+                Set<UUID> skipped = new HashSet<>(
+                                membershipRepository.findUserIdsByWorkspaceIdAndUserIdIn(workspace.getId(), userIds));
+                skipped.addAll(notificationRepository.findPendingInviteRecipientIds(workspace.getId(), userIds));
+
+                List<PendingNotification> invites = userIds.stream()
+                                .filter(userId -> !skipped.contains(userId))
+                                .map(userId -> PendingNotification.invite(userId, workspace.getId(), workspace.getName()))
+                                .toList();
+
+                // Written asynchronously by the dispatcher once this transaction commits
+                if (!invites.isEmpty()) {
+                        eventPublisher.publishEvent(new NotificationsRequestedEvent(invites));
                 }
         }
 
         @DeleteMapping("/{workspaceId}")
         @Transactional
         public ResponseEntity<Void> deleteWorkspace(@PathVariable UUID workspaceId, Authentication auth) {
-                User user = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId)
-                                .orElse(null);
+                AuthenticatedUser user = principalCache.resolve(auth);
 
-                if (membership == null || !"ADMIN".equalsIgnoreCase(membership.getRole())) {
+                if (!membershipCache.isAdmin(user.id(), workspaceId)) {
                         return ResponseEntity.status(403).build();
                 }
 
@@ -177,7 +183,12 @@ public class WorkspaceController {
                 if (workspace == null)
                         return ResponseEntity.notFound().build();
 
+                List<UUID> recipientIds = notificationRepository.findRecipientIdsByWorkspaceId(workspaceId);
                 workspaceRepository.delete(workspace);
+                eventPublisher.publishEvent(MembershipChangedEvent.workspace(workspaceId));
+                if (!recipientIds.isEmpty()) {
+                        eventPublisher.publishEvent(new NotificationsPurgedEvent(recipientIds));
+                }
                 return ResponseEntity.noContent().build();
         }
 
@@ -186,13 +197,9 @@ public class WorkspaceController {
         public ResponseEntity<?> updateWorkspaceName(@PathVariable UUID workspaceId,
                         @RequestBody Map<String, String> request, Authentication auth) {
 
-                User user = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId)
-                                .orElse(null);
+                AuthenticatedUser user = principalCache.resolve(auth);
 
-                if (membership == null || !"ADMIN".equalsIgnoreCase(membership.getRole())) {
+                if (!membershipCache.isAdmin(user.id(), workspaceId)) {
                         return ResponseEntity.status(403).body(Map.of("message", "Not authorized"));
                 }
 
@@ -216,10 +223,9 @@ public class WorkspaceController {
         @Transactional(readOnly = true)
         public ResponseEntity<List<Map<String, String>>> getWorkspaceMembers(@PathVariable UUID workspaceId,
                         Authentication auth) {
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
-                if (!membershipRepository.existsByUserIdAndWorkspaceId(currentUser.getId(), workspaceId)) {
+                if (!membershipCache.isMember(currentUser.id(), workspaceId)) {
                         return ResponseEntity.status(403).build();
                 }
 
@@ -243,14 +249,9 @@ public class WorkspaceController {
         public ResponseEntity<?> addMembersToWorkspace(@PathVariable UUID workspaceId,
                         @RequestBody AddMembersRequest request, Authentication auth) {
 
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
-                Membership currentMembership = membershipRepository
-                                .findByUserIdAndWorkspaceId(currentUser.getId(), workspaceId)
-                                .orElse(null);
-
-                if (currentMembership == null || !"ADMIN".equalsIgnoreCase(currentMembership.getRole())) {
+                if (!membershipCache.isAdmin(currentUser.id(), workspaceId)) {
                         return ResponseEntity.status(403).body(Map.of("message", "Only admins can invite members"));
                 }
 
@@ -268,18 +269,13 @@ public class WorkspaceController {
         public ResponseEntity<?> removeMemberFromWorkspace(@PathVariable UUID workspaceId,
                         @PathVariable UUID memberId, Authentication auth) {
 
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
-
-                Membership currentMembership = membershipRepository
-                                .findByUserIdAndWorkspaceId(currentUser.getId(), workspaceId)
-                                .orElse(null);
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
-                if (currentMembership == null || !"ADMIN".equalsIgnoreCase(currentMembership.getRole())) {
+                if (!membershipCache.isAdmin(currentUser.id(), workspaceId)) {
                         return ResponseEntity.status(403).body(Map.of("message", "Only admins can remove members"));
                 }
 
-                if (currentUser.getId().equals(memberId)) {
+                if (currentUser.id().equals(memberId)) {
                         return ResponseEntity.badRequest().body(Map.of("message", "Cannot remove yourself"));
                 }
 
@@ -290,6 +286,7 @@ public class WorkspaceController {
                         return ResponseEntity.notFound().build();
 
                 membershipRepository.delete(membershipToRemove);
+                eventPublisher.publishEvent(MembershipChangedEvent.member(workspaceId, memberId));
                 return ResponseEntity.noContent().build();
         }
 
@@ -298,18 +295,13 @@ public class WorkspaceController {
         public ResponseEntity<?> changeMemberRole(@PathVariable UUID workspaceId, @PathVariable UUID memberId,
                         @RequestBody Map<String, String> request, Authentication auth) {
 
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
-                if (currentUser.getId().equals(memberId)) {
+                if (currentUser.id().equals(memberId)) {
                         return ResponseEntity.badRequest().body(Map.of("message", "Cannot change your own role"));
                 }
 
-                Membership currentMembership = membershipRepository
-                                .findByUserIdAndWorkspaceId(currentUser.getId(), workspaceId)
-                                .orElse(null);
-
-                if (currentMembership == null || !"ADMIN".equalsIgnoreCase(currentMembership.getRole())) {
+                if (!membershipCache.isAdmin(currentUser.id(), workspaceId)) {
                         return ResponseEntity.status(403).body(Map.of("message", "Only admins can change roles"));
                 }
 
@@ -332,6 +324,7 @@ public class WorkspaceController {
 
                 targetMembership.setRole(newRole.toUpperCase());
                 membershipRepository.save(targetMembership);
+                eventPublisher.publishEvent(MembershipChangedEvent.member(workspaceId, memberId));
 
                 return ResponseEntity.ok(Map.of("message", "Role updated", "role", newRole.toUpperCase()));
         }
@@ -340,20 +333,18 @@ public class WorkspaceController {
         @Transactional(readOnly = true)
         public ResponseEntity<Map<String, String>> getCurrentUserInWorkspace(@PathVariable UUID workspaceId,
                         Authentication auth) {
-                User user = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser user = principalCache.resolve(auth);
 
-                Membership membership = membershipRepository.findByUserIdAndWorkspaceId(user.getId(), workspaceId)
-                                .orElse(null);
+                String role = membershipCache.findRole(user.id(), workspaceId).orElse(null);
 
-                if (membership == null)
+                if (role == null)
                         return ResponseEntity.status(403).build();
 
                 Map<String, String> result = new HashMap<>();
-                result.put("id", user.getId().toString());
-                result.put("email", user.getEmail());
-                result.put("name", user.getFullName());
-                result.put("role", formatRole(membership.getRole()));
+                result.put("id", user.id().toString());
+                result.put("email", user.email());
+                result.put("name", user.fullName());
+                result.put("role", formatRole(role));
 
                 return ResponseEntity.ok(result);
         }
@@ -361,11 +352,10 @@ public class WorkspaceController {
         @DeleteMapping("/{workspaceId}/leave")
         @Transactional
         public ResponseEntity<?> leaveWorkspace(@PathVariable UUID workspaceId, Authentication auth) {
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
                 Membership membership = membershipRepository
-                                .findByUserIdAndWorkspaceId(currentUser.getId(), workspaceId)
+                                .findByUserIdAndWorkspaceId(currentUser.id(), workspaceId)
                                 .orElse(null);
 
                 if (membership == null) {
@@ -374,13 +364,14 @@ public class WorkspaceController {
                 
                 // owner cannot leave
                 Workspace workspace = membership.getWorkspace();
-                if (workspace.getOwner().getId().equals(currentUser.getId())) {
+                if (workspace.getOwner().getId().equals(currentUser.id())) {
                         return ResponseEntity.status(403)
                                         .body(Map.of("message",
                                                         "The Workspace Owner cannot leave. You must delete the workspace instead."));
                 }
 
                 membershipRepository.delete(membership);
+                eventPublisher.publishEvent(MembershipChangedEvent.member(workspaceId, currentUser.id()));
 
                 return ResponseEntity.noContent().build();
         }
@@ -388,44 +379,35 @@ public class WorkspaceController {
         // --- User Search ---
 
         @GetMapping("/users/search")
-        @Transactional(readOnly = true)
         public ResponseEntity<List<Map<String, String>>> searchUsers(@RequestParam String query, Authentication auth) {
-                if (query == null || query.trim().length() < 2)
+                if (query == null || query.trim().length() < UserSearch.MIN_QUERY_LENGTH)
                         return ResponseEntity.ok(Collections.emptyList());
 
-                String currentUserEmail = auth.getName();
-                return ResponseEntity.ok(userRepository.findByEmailContainingIgnoreCase(query).stream()
-                                .filter(u -> !u.getEmail().equalsIgnoreCase(currentUserEmail))
-                                .limit(10)
+                // Limit and the caller's exclusion are applied by the search itself
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
+                return ResponseEntity.ok(userSearch.search(query, currentUser.id(), SEARCH_LIMIT).stream()
                                 .map(this::mapUserToSimpleMap)
                                 .collect(Collectors.toList()));
         }
 
         @GetMapping("/{workspaceId}/users/search")
-        @Transactional(readOnly = true)
         public ResponseEntity<List<Map<String, String>>> searchUsersNotInWorkspace(
                         @PathVariable UUID workspaceId,
                         @RequestParam String query,
                         Authentication auth) {
 
-                if (query == null || query.trim().length() < 2) {
+                if (query == null || query.trim().length() < UserSearch.MIN_QUERY_LENGTH) {
                         return ResponseEntity.ok(Collections.emptyList());
                 }
 
-                User currentUser = userRepository.findByEmail(auth.getName())
-                                .orElseThrow(() -> new RuntimeException("User not found"));
+                AuthenticatedUser currentUser = principalCache.resolve(auth);
 
-                if (!membershipRepository.existsByUserIdAndWorkspaceId(currentUser.getId(), workspaceId)) {
+                if (!membershipCache.isMember(currentUser.id(), workspaceId)) {
                         return ResponseEntity.status(403).build();
                 }
 
-                List<String> memberEmails = membershipRepository.findByWorkspaceId(workspaceId).stream()
-                                .map(m -> m.getUser().getEmail().toLowerCase())
-                                .collect(Collectors.toList());
-
-                return ResponseEntity.ok(userRepository.findByEmailContainingIgnoreCase(query).stream()
-                                .filter(u -> !memberEmails.contains(u.getEmail().toLowerCase()))
-                                .limit(10)
+                // Members (the caller included) are filtered out in SQL, before the limit
+                return ResponseEntity.ok(userSearch.searchNotInWorkspace(query, workspaceId, SEARCH_LIMIT).stream()
                                 .map(this::mapUserToSimpleMap)
                                 .collect(Collectors.toList()));
         }
@@ -436,11 +418,11 @@ public class WorkspaceController {
                 return role.substring(0, 1).toUpperCase() + role.substring(1).toLowerCase();
         }
 
-        private Map<String, String> mapUserToSimpleMap(User u) {
+        private Map<String, String> mapUserToSimpleMap(UserSummary u) {
                 Map<String, String> map = new HashMap<>();
-                map.put("id", u.getId().toString());
-                map.put("email", u.getEmail());
-                map.put("name", u.getFullName() != null ? u.getFullName() : "");
+                map.put("id", u.id().toString());
+                map.put("email", u.email());
+                map.put("name", u.fullName() != null ? u.fullName() : "");
                 return map;
         }
 }
@@ -0,0 +1,62 @@
+-- Schema as previously generated by ddl-auto: update, before any column added since.
+-- Databases created that way are baselined at version 1 (spring.flyway.baseline-on-migrate)
+-- and start from V2, so this file must not change.
+-- Enum columns are plain varchar without CHECK constraints, so adding an enum value
+-- needs no migration.
+
+CREATE TABLE users (
+    id        uuid         PRIMARY KEY,
+    email     varchar(255) NOT NULL,
+    password  varchar(255) NOT NULL,
+    full_name varchar(255),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE workspaces (
+    id       uuid         PRIMARY KEY,
+    name     varchar(255) NOT NULL,
+    slug     varchar(255),
+    owner_id uuid         NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE membership (
+    id           uuid PRIMARY KEY,
+    role         varchar(255),
+    user_id      uuid REFERENCES users (id),
+    workspace_id uuid REFERENCES workspaces (id)
+);
+
+CREATE TABLE projects (
+    id           uuid         PRIMARY KEY,
+    name         varchar(255) NOT NULL,
+    description  text,
+    created_at   timestamp(6),
+    workspace_id uuid         NOT NULL REFERENCES workspaces (id),
+    creator_id   uuid         REFERENCES users (id)
+);
+
+CREATE TABLE work_items (
+    id          uuid             PRIMARY KEY,
+    title       varchar(255)     NOT NULL,
+    description text,
+    status      varchar(255),
+    priority    varchar(255),
+    type        varchar(255),
+    position    double precision NOT NULL,
+    created_at  timestamp(6),
+    updated_at  timestamp(6),
+    project_id  uuid             NOT NULL REFERENCES projects (id),
+    assignee_id uuid             REFERENCES users (id),
+    creator_id  uuid             NOT NULL REFERENCES users (id)
+);
+
+CREATE TABLE notifications (
+    id           uuid         PRIMARY KEY,
+    recipient_id uuid         NOT NULL REFERENCES users (id),
+    type         varchar(255) NOT NULL,
+    workspace_id uuid         NOT NULL REFERENCES workspaces (id) ON DELETE CASCADE,
+    work_item_id uuid         REFERENCES work_items (id) ON DELETE CASCADE,
+    title        varchar(255) NOT NULL,
+    subtitle     varchar(255) NOT NULL,
+    created_at   timestamp(6)
+);
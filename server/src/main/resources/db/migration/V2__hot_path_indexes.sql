@@ -0,0 +1,44 @@
+-- Composite indexes for the predicates every request runs, and one membership per
+-- (user, workspace). IF NOT EXISTS because databases baselined from ddl-auto may
+-- already have the ones that used to be declared with @Index.
+
+-- Columns added after the baseline: optimistic locking on work items and digested
+-- notification counts. Databases that ran ddl-auto since then already have them.
+ALTER TABLE work_items ADD COLUMN IF NOT EXISTS version bigint NOT NULL DEFAULT 0;
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS update_count integer NOT NULL DEFAULT 1;
+
+-- Membership: duplicates keep the strongest role, then the lowest id
+DELETE FROM membership
+WHERE id IN (
+    SELECT id FROM (
+        SELECT id, ROW_NUMBER() OVER (
+                   PARTITION BY user_id, workspace_id
+                   ORDER BY CASE role WHEN 'ADMIN' THEN 0 WHEN 'MEMBER' THEN 1 ELSE 2 END, id) AS rank
+        FROM membership) d
+    WHERE d.rank > 1);
+
+-- Role lookup on every request (user_id, workspace_id) and "my workspaces" (user_id)
+CREATE UNIQUE INDEX IF NOT EXISTS uk_membership_user_workspace ON membership (user_id, workspace_id);
+-- Member lists and invite checks for one workspace
+CREATE INDEX IF NOT EXISTS idx_membership_workspace_user ON membership (workspace_id, user_id);
+
+-- Projects of a workspace, and the workspace check of every project-scoped request
+CREATE INDEX IF NOT EXISTS idx_projects_workspace ON projects (workspace_id);
+
+CREATE INDEX IF NOT EXISTS idx_workspaces_slug ON workspaces (slug);
+
+-- Whole board ordered by position, and the append position (MAX(position))
+CREATE INDEX IF NOT EXISTS idx_work_items_project_position ON work_items (project_id, position, id);
+-- Keyset pagination: one board column at a time, ordered by position
+CREATE INDEX IF NOT EXISTS idx_work_items_project_status_position ON work_items (project_id, status, position, id);
+-- "Assigned to" filter within a project
+CREATE INDEX IF NOT EXISTS idx_work_items_project_assignee ON work_items (project_id, assignee_id, status, position, id);
+
+-- Inbox keyset pagination, newest first
+CREATE INDEX IF NOT EXISTS idx_notifications_recipient_created ON notifications (recipient_id, created_at DESC, id DESC);
+-- Retention purge of old updates
+CREATE INDEX IF NOT EXISTS idx_notifications_type_created ON notifications (type, created_at);
+-- Recipients of a deleted work item, and the ON DELETE CASCADE from work_items
+CREATE INDEX IF NOT EXISTS idx_notifications_work_item ON notifications (work_item_id);
+-- Pending invites of a workspace, and the ON DELETE CASCADE from workspaces
+CREATE INDEX IF NOT EXISTS idx_notifications_workspace_type ON notifications (workspace_id, type, recipient_id);
@@ -0,0 +1,9 @@
+-- Invite dialog search on lower(email).
+-- Prefix matches (LIKE 'abc%') are a range scan on the btree; text_pattern_ops makes
+-- that work whatever the database collation. Substring matches (LIKE '%abc%') use the
+-- trigram index, which needs at least three characters to narrow anything down.
+-- pg_trgm is a trusted extension (PostgreSQL 13+), so the database owner can create it.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX IF NOT EXISTS idx_users_email_prefix ON users (lower(email) text_pattern_ops);
+CREATE INDEX IF NOT EXISTS idx_users_email_trgm ON users USING gin (lower(email) gin_trgm_ops);
@@ -0,0 +1,4 @@
+-- Highest append position handed out per project. PositionAllocator reserves positions
+-- by advancing it in one UPDATE, so nodes sharing the database never hand out the same
+-- position. NULL until the first reservation, which seeds it from MAX(work_items.position).
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS last_position double precision;
@@ -0,0 +1,5 @@
+-- When the latest update was folded into a digested notification. created_at stays
+-- the time the row was first written: it anchors the digest window and is the inbox
+-- keyset, so it must not move once a client has paged past the row.
+ALTER TABLE notifications ADD COLUMN IF NOT EXISTS updated_at timestamp(6);
+UPDATE notifications SET updated_at = created_at WHERE updated_at IS NULL;
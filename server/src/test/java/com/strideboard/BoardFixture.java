@@ -0,0 +1,169 @@
+package com.strideboard;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.function.ObjIntConsumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import com.strideboard.data.project.Project;
+import com.strideboard.data.project.ProjectRepository;
+import com.strideboard.data.user.User;
+import com.strideboard.data.user.UserRepository;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemPriority;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workitem.WorkItemType;
+import com.strideboard.data.workspace.Membership;
+import com.strideboard.data.workspace.MembershipRepository;
+import com.strideboard.data.workspace.Workspace;
+import com.strideboard.data.workspace.WorkspaceRepository;
+import com.strideboard.workItem.WorkItemPositions;
+
+/**
+ * Seeds users, workspaces, memberships, projects and work items for database-backed
+ * tests, and removes everything it created in cleanUp(). Pull it in with
+ * {@code @Import(BoardFixture.class)} and call cleanUp() from {@code @AfterEach}.
+ *
+ * Projects, items and notifications cascade with their workspace, so only workspaces
+ * and users are tracked. Seed from the test thread: the tracking is not thread-safe.
+ */
+@TestComponent
+public class BoardFixture {
+
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private WorkspaceRepository workspaceRepository;
+    @Autowired
+    private MembershipRepository membershipRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private WorkItemRepository workItemRepository;
+
+    private final List<Workspace> workspaces = new ArrayList<>();
+    private final List<User> users = new ArrayList<>();
+
+    // A user with a unique email derived from the name, e.g. "Batch Tester" -> batch-tester-<uuid>@strideboard.test
+    public User user(String fullName) {
+        return save(User.builder()
+                .email(slug(fullName) + "-" + UUID.randomUUID() + "@strideboard.test")
+                .password("password")
+                .fullName(fullName)
+                .build());
+    }
+
+    // Numbered users saved in one call, e.g. "Invitee 0".."Invitee n-1"
+    public List<User> users(String fullName, int count) {
+        List<User> newUsers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            newUsers.add(User.builder()
+                    .email(slug(fullName) + "-" + i + "-" + UUID.randomUUID() + "@strideboard.test")
+                    .password("password")
+                    .fullName(fullName + " " + i)
+                    .build());
+        }
+        List<User> saved = userRepository.saveAll(newUsers);
+        users.addAll(saved);
+        return saved;
+    }
+
+    // For tests that need exact emails
+    public User save(User user) {
+        User saved = userRepository.save(user);
+        users.add(saved);
+        return saved;
+    }
+
+    // Owned by, but not yet a member of, the owner
+    public Workspace workspace(String name, User owner) {
+        Workspace newWorkspace = new Workspace();
+        newWorkspace.setName(name);
+        newWorkspace.setSlug(slug(name) + "-" + UUID.randomUUID());
+        newWorkspace.setOwner(owner);
+        Workspace saved = workspaceRepository.save(newWorkspace);
+        workspaces.add(saved);
+        return saved;
+    }
+
+    public void join(Workspace workspace, String role, User... members) {
+        join(workspace, role, List.of(members));
+    }
+
+    public void join(Workspace workspace, String role, Collection<User> members) {
+        membershipRepository.saveAll(members.stream()
+                .map(member -> Membership.builder().user(member).workspace(workspace).role(role).build())
+                .toList());
+    }
+
+    // Created by the workspace owner
+    public Project project(Workspace workspace) {
+        return project(workspace, "Board");
+    }
+
+    public Project project(Workspace workspace, String name) {
+        return projectRepository.save(Project.builder()
+                .name(name)
+                .workspace(workspace)
+                .creator(workspace.getOwner())
+                .build());
+    }
+
+    // A TODO task at the first position, created by the project's creator
+    public WorkItem item(Project project, String title) {
+        return item(project, title, item -> {
+        });
+    }
+
+    public WorkItem item(Project project, String title, Consumer<WorkItem.WorkItemBuilder> customizer) {
+        WorkItem.WorkItemBuilder item = defaults(project, title, 0);
+        customizer.accept(item);
+        return workItemRepository.save(item.build());
+    }
+
+    // "Item 0".."Item n-1" as TODO tasks spaced one STEP apart, saved in one call
+    public List<WorkItem> items(Project project, int count) {
+        return items(project, count, (item, i) -> {
+        });
+    }
+
+    // The customizer gets each item's builder and index and may override any default
+    public List<WorkItem> items(Project project, int count, ObjIntConsumer<WorkItem.WorkItemBuilder> customizer) {
+        List<WorkItem> newItems = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            WorkItem.WorkItemBuilder item = defaults(project, "Item " + i, i);
+            customizer.accept(item, i);
+            newItems.add(item.build());
+        }
+        return workItemRepository.saveAll(newItems);
+    }
+
+    // Workspaces first, so the items referencing the users are gone before the users are
+    public void cleanUp() {
+        workspaces.forEach(workspace -> workspaceRepository.deleteById(workspace.getId()));
+        userRepository.deleteAllById(users.stream().map(User::getId).toList());
+        workspaces.clear();
+        users.clear();
+    }
+
+    private static WorkItem.WorkItemBuilder defaults(Project project, String title, int index) {
+        return WorkItem.builder()
+                .title(title)
+                .status(WorkItemStatus.TODO)
+                .priority(WorkItemPriority.MEDIUM)
+                .type(WorkItemType.TASK)
+                .position(WorkItemPositions.STEP * (index + 1))
+                .project(project)
+                .creator(project.getCreator());
+    }
+
+    private static String slug(String name) {
+        return name.toLowerCase().replaceAll("[^a-z0-9]+", "-");
+    }
+}
@@ -0,0 +1,233 @@
+package com.strideboard;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+import javax.sql.DataSource;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.project.ProjectRepository;
+import com.strideboard.data.workitem.WorkItemFilter;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workspace.MembershipRepository;
+
+/**
+ * Latency of the hot repository methods against 1M work items, without and with the
+ * indexes from V2__hot_path_indexes.sql. The indexes are dropped for the first pass
+ * and rebuilt by re-running the migration script (it is idempotent) for the second.
+ * Run with: mvn test -Pbenchmark -Dtest=SchemaIndexBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class SchemaIndexBenchmark {
+
+    private static final int WORK_ITEMS = Integer.getInteger("benchmark.work-items", 1_000_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 100);
+    private static final int USERS = 1_000;
+    private static final int WORKSPACES = 100;
+    private static final int WORKSPACES_PER_USER = 10;
+    private static final int PROJECTS_PER_WORKSPACE = 10;
+    private static final int NOTIFICATIONS_PER_MEMBERSHIP = 20;
+
+    private static final String MIGRATION = "db/migration/V2__hot_path_indexes.sql";
+    private static final List<String> INDEXES = List.of(
+            "uk_membership_user_workspace",
+            "idx_membership_workspace_user",
+            "idx_projects_workspace",
+            "idx_workspaces_slug",
+            "idx_work_items_project_position",
+            "idx_work_items_project_status_position",
+            "idx_work_items_project_assignee",
+            "idx_notifications_recipient_created",
+            "idx_notifications_type_created",
+            "idx_notifications_work_item",
+            "idx_notifications_workspace_type");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private WorkItemRepository workItemRepository;
+    @Autowired
+    private MembershipRepository membershipRepository;
+    @Autowired
+    private ProjectRepository projectRepository;
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private final String run = UUID.randomUUID().toString();
+    private List<UUID> userIds;
+    private List<UUID> workspaceIds;
+    private List<UUID> projectIds;
+    private List<UUID> workItemIds;
+
+    @BeforeEach
+    void seed() {
+        String users = "schema-bench-" + run + "-%";
+        String workspaces = "schema-bench-" + run + "-%";
+
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, full_name)
+                SELECT gen_random_uuid(), 'schema-bench-' || ? || '-' || i || '@strideboard.test', 'password', 'Bench ' || i
+                FROM generate_series(1, ?) i
+                """, run, USERS);
+        jdbcTemplate.update("""
+                INSERT INTO workspaces (id, name, slug, owner_id)
+                SELECT gen_random_uuid(), 'Bench ' || u.n, 'schema-bench-' || ? || '-' || u.n, u.id
+                FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS n FROM users WHERE email LIKE ?) u
+                WHERE u.n <= ?
+                """, run, users, WORKSPACES);
+        // Each user belongs to WORKSPACES_PER_USER consecutive workspaces
+        jdbcTemplate.update("""
+                INSERT INTO membership (id, role, user_id, workspace_id)
+                SELECT gen_random_uuid(), 'MEMBER', u.id, w.id
+                FROM (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS n FROM users WHERE email LIKE ?) u
+                JOIN (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS n FROM workspaces WHERE slug LIKE ?) w
+                  ON ((w.n - u.n) % ? + ?) % ? < ?
+                """, users, workspaces, WORKSPACES, WORKSPACES, WORKSPACES, WORKSPACES_PER_USER);
+        jdbcTemplate.update("""
+                INSERT INTO projects (id, name, created_at, workspace_id, creator_id)
+                SELECT gen_random_uuid(), 'Project ' || i, now(), w.id, w.owner_id
+                FROM workspaces w CROSS JOIN generate_series(1, ?) i
+                WHERE w.slug LIKE ?
+                """, PROJECTS_PER_WORKSPACE, workspaces);
+        jdbcTemplate.update("""
+                INSERT INTO work_items (id, title, status, priority, type, position, created_at, updated_at,
+                                        version, project_id, assignee_id, creator_id)
+                SELECT gen_random_uuid(), 'Item ' || i, (ARRAY['BACKLOG', 'TODO', 'IN_PROGRESS', 'DONE'])[1 + i % 4],
+                       'MEDIUM', 'TASK', i * 1000.0, now(), now(), 0, p.id,
+                       CASE WHEN i % 3 = 0 THEN NULL ELSE p.creator_id END, p.creator_id
+                FROM projects p
+                JOIN workspaces w ON w.id = p.workspace_id
+                CROSS JOIN generate_series(1, ?) i
+                WHERE w.slug LIKE ?
+                """, WORK_ITEMS / (WORKSPACES * PROJECTS_PER_WORKSPACE), workspaces);
+        // One invite and the rest updates per membership, one minute apart
+        jdbcTemplate.update("""
+                INSERT INTO notifications (id, recipient_id, type, workspace_id, title, subtitle, update_count, created_at)
+                SELECT gen_random_uuid(), m.user_id, CASE WHEN i = 1 THEN 'INVITE' ELSE 'UPDATE' END, m.workspace_id,
+                       'Task Updated', 'Bench ' || i, 1, now() - i * interval '1 minute'
+                FROM membership m
+                JOIN workspaces w ON w.id = m.workspace_id
+                CROSS JOIN generate_series(1, ?) i
+                WHERE w.slug LIKE ?
+                """, NOTIFICATIONS_PER_MEMBERSHIP, workspaces);
+        jdbcTemplate.execute("ANALYZE users, workspaces, membership, projects, work_items, notifications");
+
+        userIds = jdbcTemplate.queryForList("SELECT id FROM users WHERE email LIKE ?", UUID.class, users);
+        workspaceIds = jdbcTemplate.queryForList("SELECT id FROM workspaces WHERE slug LIKE ?", UUID.class,
+                workspaces);
+        projectIds = jdbcTemplate.queryForList("""
+                SELECT p.id FROM projects p JOIN workspaces w ON w.id = p.workspace_id
+                WHERE w.slug LIKE ? ORDER BY p.id
+                """, UUID.class, workspaces);
+        workItemIds = jdbcTemplate.queryForList("""
+                SELECT wi.id FROM work_items wi
+                JOIN projects p ON p.id = wi.project_id
+                JOIN workspaces w ON w.id = p.workspace_id
+                WHERE w.slug LIKE ? AND wi.position = 1000.0
+                """, UUID.class, workspaces);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        String workspaces = "schema-bench-" + run + "-%";
+        // Notifications go with their workspace (ON DELETE CASCADE)
+        jdbcTemplate.update("""
+                DELETE FROM work_items WHERE project_id IN (
+                    SELECT p.id FROM projects p JOIN workspaces w ON w.id = p.workspace_id WHERE w.slug LIKE ?)
+                """, workspaces);
+        jdbcTemplate.update("""
+                DELETE FROM projects WHERE workspace_id IN (SELECT id FROM workspaces WHERE slug LIKE ?)
+                """, workspaces);
+        jdbcTemplate.update("""
+                DELETE FROM membership WHERE workspace_id IN (SELECT id FROM workspaces WHERE slug LIKE ?)
+                """, workspaces);
+        jdbcTemplate.update("DELETE FROM workspaces WHERE slug LIKE ?", workspaces);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ?", "schema-bench-" + run + "-%");
+    }
+
+    @Test
+    void hotPathsWithAndWithoutIndexes() {
+        Map<String, Long> without;
+        try {
+            INDEXES.forEach(index -> jdbcTemplate.execute("DROP INDEX IF EXISTS " + index));
+            jdbcTemplate.execute("ANALYZE membership, projects, work_items, notifications");
+            without = measureAll();
+        } finally {
+            new ResourceDatabasePopulator(new ClassPathResource(MIGRATION)).execute(dataSource);
+            jdbcTemplate.execute("ANALYZE membership, projects, work_items, notifications");
+        }
+        Map<String, Long> with = measureAll();
+
+        System.out.printf("%,d work items, %,d iterations per method%n", WORK_ITEMS, ITERATIONS);
+        System.out.printf("%-40s %14s %14s %9s%n", "repository method", "no index", "indexed", "speedup");
+        without.forEach((name, before) -> {
+            long after = with.get(name);
+            System.out.printf("%-40s %,11d us %,11d us %8.1fx%n",
+                    name, before / 1000, after / 1000, (double) before / after);
+        });
+
+        assertThat(with.get("WorkItem.findViewsByProjectId")).isLessThan(without.get("WorkItem.findViewsByProjectId"));
+        assertThat(with.get("Notification.findInbox")).isLessThan(without.get("Notification.findInbox"));
+    }
+
+    // Average nanoseconds per call for each method, after one warm-up pass
+    private Map<String, Long> measureAll() {
+        Map<String, IntConsumer> calls = new LinkedHashMap<>();
+        calls.put("WorkItem.findProjectAccess", i -> workItemRepository.findProjectAccess(
+                projectIds.get(i % projectIds.size())));
+        calls.put("WorkItem.findWorkItemAccess", i -> workItemRepository.findWorkItemAccess(
+                projectIds.get(i % projectIds.size()), workItemIds.get(i % workItemIds.size())));
+        calls.put("WorkItem.findViewsByProjectId", i -> workItemRepository.findViewsByProjectId(
+                projectIds.get(i % projectIds.size())));
+        calls.put("WorkItem.findPage (status column)", i -> workItemRepository.findPage(
+                new WorkItemFilter(projectIds.get(i % projectIds.size()), WorkItemStatus.TODO, null, null, null),
+                null, 50));
+        calls.put("Membership.findRoleByUserIdAndWorkspaceId", i -> membershipRepository
+                .findRoleByUserIdAndWorkspaceId(userIds.get(i % userIds.size()),
+                        workspaceIds.get(i % workspaceIds.size())));
+        calls.put("Membership.findByUserId", i -> membershipRepository.findByUserId(
+                userIds.get(i % userIds.size())));
+        calls.put("Membership.findByWorkspaceId", i -> membershipRepository.findByWorkspaceId(
+                workspaceIds.get(i % workspaceIds.size())));
+        calls.put("Project.findByWorkspace_Id", i -> projectRepository.findByWorkspace_Id(
+                workspaceIds.get(i % workspaceIds.size())));
+        calls.put("Notification.findInbox", i -> notificationRepository.findInbox(
+                userIds.get(i % userIds.size()), Limit.of(20)));
+        calls.put("Notification.findRecipientIdsByWorkItemId", i -> notificationRepository
+                .findRecipientIdsByWorkItemId(workItemIds.get(i % workItemIds.size())));
+        calls.put("Notification.findPendingInviteRecipientIds", i -> notificationRepository
+                .findPendingInviteRecipientIds(workspaceIds.get(i % workspaceIds.size()),
+                        userIds.subList(0, 50)));
+
+        Map<String, Long> averages = new LinkedHashMap<>();
+        calls.forEach((name, call) -> {
+            call.accept(0);
+            long start = System.nanoTime();
+            for (int i = 1; i <= ITERATIONS; i++) {
+                call.accept(i);
+            }
+            averages.put(name, (System.nanoTime() - start) / ITERATIONS);
+        });
+        return averages;
+    }
+}
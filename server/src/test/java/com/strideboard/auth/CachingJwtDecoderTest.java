@@ -0,0 +1,109 @@
+package com.strideboard.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.jwt.BadJwtException;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A token is verified once and then served from the cache until its exp or the TTL,
+ * whichever is first; rejected tokens and tokens without exp always go to the delegate.
+ */
+class CachingJwtDecoderTest {
+
+    // Token value -> exp; anything else is rejected like a bad signature
+    private final Map<String, Instant> issued = new HashMap<>();
+    private final AtomicInteger verifications = new AtomicInteger();
+
+    private final JwtDecoder verifier = token -> {
+        verifications.incrementAndGet();
+        if (!issued.containsKey(token)) {
+            throw new BadJwtException("Invalid signature");
+        }
+        Jwt.Builder jwt = Jwt.withTokenValue(token)
+                .header("alg", "RS256")
+                .subject("user@strideboard.test")
+                .issuedAt(Instant.now().minusSeconds(1));
+        Instant expiresAt = issued.get(token);
+        if (expiresAt != null) {
+            jwt.expiresAt(expiresAt);
+        }
+        return jwt.build();
+    };
+
+    private CachingJwtDecoder decoder(Duration ttl) {
+        return new CachingJwtDecoder(verifier, 100, ttl, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void repeatedTokenIsVerifiedOnce() {
+        issued.put("token-a", Instant.now().plus(Duration.ofHours(24)));
+        issued.put("token-b", Instant.now().plus(Duration.ofHours(24)));
+        CachingJwtDecoder decoder = decoder(Duration.ofMinutes(10));
+
+        for (int i = 0; i < 5; i++) {
+            assertThat(decoder.decode("token-a").getTokenValue()).isEqualTo("token-a");
+        }
+        assertThat(decoder.decode("token-b").getTokenValue()).isEqualTo("token-b");
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void entryNeverOutlivesTheTokensExpiry() throws InterruptedException {
+        issued.put("short-lived", Instant.now().plusMillis(300));
+        CachingJwtDecoder decoder = decoder(Duration.ofMinutes(10));
+
+        decoder.decode("short-lived");
+        decoder.decode("short-lived");
+        assertThat(verifications).hasValue(1);
+
+        Thread.sleep(400);
+        decoder.decode("short-lived");
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void entryExpiresAfterTheTtlWhenThatComesFirst() throws InterruptedException {
+        issued.put("token-a", Instant.now().plus(Duration.ofHours(24)));
+        CachingJwtDecoder decoder = decoder(Duration.ofMillis(300));
+
+        decoder.decode("token-a");
+        Thread.sleep(400);
+        decoder.decode("token-a");
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void rejectedTokensAreNotCached() {
+        CachingJwtDecoder decoder = decoder(Duration.ofMinutes(10));
+
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+        assertThatThrownBy(() -> decoder.decode("forged")).isInstanceOf(BadJwtException.class);
+
+        assertThat(verifications).hasValue(2);
+    }
+
+    @Test
+    void tokensWithoutExpiryAreNotCached() {
+        issued.put("no-exp", null);
+        CachingJwtDecoder decoder = decoder(Duration.ofMinutes(10));
+
+        decoder.decode("no-exp");
+        decoder.decode("no-exp");
+
+        assertThat(verifications).hasValue(2);
+    }
+}
@@ -0,0 +1,105 @@
+package com.strideboard.auth;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+
+import com.strideboard.config.PasswordHashingProperties;
+
+/**
+ * Logins per second on one core for each candidate cost setting, through the same
+ * DaoAuthenticationProvider path as POST /api/auth/login minus the database lookup.
+ * One benchmark thread, so the score is per core: divide the peak login rate by it to
+ * get the cores a login node needs (hashing threads default to one per core).
+ * "plaintext" is the pre-hashing baseline.
+ *
+ * Run with: mvn test -Pbenchmark -Dtest=LoginThroughputBenchmark
+ * (add -Djmh.cost=bcrypt-12 to run a single setting)
+ */
+@Tag("benchmark")
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@Threads(1)
+public class LoginThroughputBenchmark {
+
+    private static final String EMAIL = "bench@strideboard.test";
+    private static final String PASSWORD = "correct horse battery staple";
+
+    // name -> settings; argon2 names are memory (MiB) and iterations
+    private static final Map<String, PasswordHashingProperties> COSTS = Map.of(
+            "plaintext", settings("bcrypt", 10, 19 * 1024, 2),
+            "bcrypt-10", settings("bcrypt", 10, 19 * 1024, 2),
+            "bcrypt-11", settings("bcrypt", 11, 19 * 1024, 2),
+            "bcrypt-12", settings("bcrypt", 12, 19 * 1024, 2),
+            "bcrypt-13", settings("bcrypt", 13, 19 * 1024, 2),
+            "argon2-19m-2", settings("argon2", 10, 19 * 1024, 2),
+            "argon2-46m-1", settings("argon2", 10, 46 * 1024, 1),
+            "argon2-64m-3", settings("argon2", 10, 64 * 1024, 3));
+
+    @Param({ "plaintext", "bcrypt-10", "bcrypt-11", "bcrypt-12", "bcrypt-13", "argon2-19m-2", "argon2-46m-1",
+            "argon2-64m-3" })
+    public String cost;
+
+    private DaoAuthenticationProvider provider;
+
+    @Setup
+    public void setUp() {
+        PasswordEncoder encoder = PasswordHashing.encoder(COSTS.get(cost));
+        String stored = cost.equals("plaintext") ? PASSWORD : encoder.encode(PASSWORD);
+
+        provider = new DaoAuthenticationProvider(new InMemoryUserDetailsManager(
+                User.withUsername(EMAIL).password(stored).build()));
+        provider.setPasswordEncoder(encoder);
+    }
+
+    @Benchmark
+    public Authentication login() {
+        return provider.authenticate(UsernamePasswordAuthenticationToken.unauthenticated(EMAIL, PASSWORD));
+    }
+
+    @Test
+    void run() throws Exception {
+        OptionsBuilder options = new OptionsBuilder();
+        options.include(LoginThroughputBenchmark.class.getName() + ".login");
+        String only = System.getProperty("jmh.cost");
+        if (only != null) {
+            options.param("cost", only);
+        }
+        new Runner(options.build()).run();
+    }
+
+    private static PasswordHashingProperties settings(String algorithm, int bcryptStrength, int argon2Memory,
+            int argon2Iterations) {
+        return new PasswordHashingProperties(algorithm, true,
+                new PasswordHashingProperties.Bcrypt(bcryptStrength),
+                new PasswordHashingProperties.Argon2(argon2Memory, argon2Iterations, 1),
+                new PasswordHashingProperties.Hashing(1, 1, Duration.ofSeconds(5)));
+    }
+}
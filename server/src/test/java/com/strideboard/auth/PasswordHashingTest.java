@@ -0,0 +1,146 @@
+package com.strideboard.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.strideboard.config.PasswordHashingProperties;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Stored formats the delegating encoder accepts, which of them it asks to be
+ * re-hashed, and how the bounded executor refuses work once it is full.
+ */
+class PasswordHashingTest {
+
+    private static PasswordHashingProperties settings(String algorithm, int bcryptStrength, int argon2Memory) {
+        return new PasswordHashingProperties(algorithm, true,
+                new PasswordHashingProperties.Bcrypt(bcryptStrength),
+                new PasswordHashingProperties.Argon2(argon2Memory, 2, 1),
+                new PasswordHashingProperties.Hashing(1, 1, Duration.ofSeconds(5)));
+    }
+
+    @Test
+    void legacyPlainTextStillMatchesAndIsFlaggedForUpgrade() {
+        PasswordEncoder encoder = PasswordHashing.encoder(settings("bcrypt", 4, 1024));
+
+        assertThat(encoder.matches("secret", "secret")).isTrue();
+        assertThat(encoder.matches("wrong", "secret")).isFalse();
+        assertThat(encoder.upgradeEncoding("secret")).isTrue();
+    }
+
+    @Test
+    void plainTextIsRejectedOnceDisabled() {
+        PasswordHashingProperties strict = new PasswordHashingProperties("bcrypt", false,
+                new PasswordHashingProperties.Bcrypt(4), new PasswordHashingProperties.Argon2(1024, 2, 1),
+                new PasswordHashingProperties.Hashing(1, 1, Duration.ofSeconds(5)));
+        PasswordEncoder encoder = PasswordHashing.encoder(strict);
+
+        assertThatThrownBy(() -> encoder.matches("secret", "secret")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void hashesAreUpgradedWhenTheCostIsRaised() {
+        String hash = PasswordHashing.encoder(settings("bcrypt", 4, 1024)).encode("secret");
+        PasswordEncoder stronger = PasswordHashing.encoder(settings("bcrypt", 5, 1024));
+
+        assertThat(hash).startsWith("{bcrypt}");
+        assertThat(stronger.matches("secret", hash)).isTrue();
+        assertThat(stronger.upgradeEncoding(hash)).isTrue();
+        assertThat(stronger.upgradeEncoding(stronger.encode("secret"))).isFalse();
+    }
+
+    @Test
+    void switchingAlgorithmKeepsOldHashesReadable() {
+        String bcrypt = PasswordHashing.encoder(settings("bcrypt", 4, 1024)).encode("secret");
+        PasswordEncoder argon2 = PasswordHashing.encoder(settings("argon2", 4, 1024));
+        String rehashed = argon2.encode("secret");
+
+        assertThat(argon2.matches("secret", bcrypt)).isTrue();
+        assertThat(argon2.upgradeEncoding(bcrypt)).isTrue();
+        assertThat(rehashed).startsWith("{argon2}");
+        assertThat(argon2.matches("secret", rehashed)).isTrue();
+        assertThat(argon2.upgradeEncoding(rehashed)).isFalse();
+    }
+
+    @Test
+    void unknownAlgorithmFailsAtStartup() {
+        assertThatThrownBy(() -> PasswordHashing.encoder(settings("md5", 4, 1024)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void saturatedExecutorRefusesInsteadOfQueueingForever() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder slow = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+
+        // One thread and one queue slot: the third concurrent check is refused
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try (BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(slow, 1, 1, Duration.ofSeconds(5),
+                new SimpleMeterRegistry())) {
+            callers.submit(() -> bounded.matches("a", "a"));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+            callers.submit(() -> bounded.matches("b", "b"));
+            Thread.sleep(100);
+
+            assertThatThrownBy(() -> bounded.matches("c", "c")).isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            release.countDown();
+            callers.shutdown();
+        }
+    }
+
+    @Test
+    void slowCheckTimesOut() {
+        CountDownLatch release = new CountDownLatch(1);
+        PasswordEncoder stuck = new PasswordEncoder() {
+            @Override
+            public String encode(CharSequence rawPassword) {
+                return rawPassword.toString();
+            }
+
+            @Override
+            public boolean matches(CharSequence rawPassword, String encodedPassword) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return true;
+            }
+        };
+
+        try (BoundedPasswordEncoder bounded = new BoundedPasswordEncoder(stuck, 1, 1, Duration.ofMillis(100),
+                new SimpleMeterRegistry())) {
+            assertThatThrownBy(() -> bounded.matches("a", "a")).isInstanceOf(PasswordHashingBusyException.class);
+        } finally {
+            release.countDown();
+        }
+    }
+}
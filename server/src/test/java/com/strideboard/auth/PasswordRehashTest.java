@@ -0,0 +1,88 @@
+package com.strideboard.auth;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.httpBasic;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.strideboard.data.user.User;
+import com.strideboard.data.user.UserRepository;
+
+/**
+ * New passwords are stored hashed, and accounts still holding a plain-text password
+ * are moved to a hash by their first successful login.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+class PasswordRehashTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    private final String email = "rehash-" + UUID.randomUUID() + "@strideboard.test";
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.findByEmail(email).ifPresent(userRepository::delete);
+    }
+
+    @Test
+    void registrationStoresAHash() throws Exception {
+        mockMvc.perform(post("/api/auth/register")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"email\":\"" + email + "\",\"password\":\"correct horse\",\"fullName\":\"Rehash\"}"))
+                .andExpect(status().isOk());
+
+        String stored = storedPassword();
+        assertThat(stored).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.matches("correct horse", stored)).isTrue();
+
+        mockMvc.perform(post("/api/auth/login").with(httpBasic(email, "correct horse")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void plainTextPasswordIsHashedOnLogin() throws Exception {
+        userRepository.save(User.builder().email(email).password("legacy").fullName("Legacy").build());
+
+        mockMvc.perform(post("/api/auth/login").with(httpBasic(email, "legacy")))
+                .andExpect(status().isOk());
+
+        String stored = storedPassword();
+        assertThat(stored).startsWith("{bcrypt}");
+        assertThat(passwordEncoder.upgradeEncoding(stored)).isFalse();
+
+        // The upgraded hash keeps working
+        mockMvc.perform(post("/api/auth/login").with(httpBasic(email, "legacy")))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void failedLoginLeavesThePasswordAlone() throws Exception {
+        userRepository.save(User.builder().email(email).password("legacy").fullName("Legacy").build());
+
+        mockMvc.perform(post("/api/auth/login").with(httpBasic(email, "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        assertThat(storedPassword()).isEqualTo("legacy");
+    }
+
+    private String storedPassword() {
+        return userRepository.findByEmail(email).orElseThrow().getPassword();
+    }
+}
@@ -0,0 +1,131 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.notification.InboxItem;
+import com.strideboard.data.notification.Notification;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workspace.Workspace;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Inbox load times for a 5k-notification inbox: the previous entity walk (lazy
+ * workspace/work item/project per row, formatter per row) against the joined
+ * projection, for the whole inbox and for the first page.
+ * Run with: mvn test -Pbenchmark -Dtest=InboxBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(BoardFixture.class)
+class InboxBenchmark {
+
+    private static final int INBOX_SIZE = Integer.getInteger("benchmark.inbox-size", 5_000);
+    private static final int ITEMS = 200;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 10);
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Inbox Benchmark");
+        Workspace workspace = board.workspace("Inbox Benchmark", user);
+        List<WorkItem> items = board.items(board.project(workspace, "Benchmark"), ITEMS);
+
+        List<Notification> notifications = new ArrayList<>(INBOX_SIZE);
+        for (int i = 0; i < INBOX_SIZE; i++) {
+            notifications.add(Notification.builder()
+                    .recipient(user)
+                    .type(NotificationType.UPDATE)
+                    .workspace(workspace)
+                    .workItem(items.get(i % ITEMS))
+                    .title("Task Updated")
+                    .subtitle("Updates were made to: item " + (i % ITEMS))
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void inbox() {
+        long legacy = measure("entity walk", INBOX_SIZE, this::legacyInbox);
+        long projection = measure("projection", INBOX_SIZE,
+                () -> notificationService.getUserNotifications(user.getId()).size());
+        long firstPage = measure("first page", 20,
+                () -> notificationService.getInboxPage(user.getId(), null, 20).items().size());
+
+        System.out.printf("speedup vs entity walk: projection %.1fx, first page %.0fx%n",
+                (double) legacy / projection, (double) legacy / firstPage);
+        assertThat(projection).isLessThan(legacy);
+    }
+
+    // The implementation this replaced, kept here as the baseline
+    private int legacyInbox() {
+        return transactionTemplate.execute(status -> {
+            List<Notification> notifications = entityManager.createQuery(
+                    "SELECT n FROM Notification n WHERE n.recipient.id = :id ORDER BY n.createdAt DESC",
+                    Notification.class)
+                    .setParameter("id", user.getId())
+                    .getResultList();
+
+            List<InboxItem> inbox = notifications.stream().map(n -> InboxItem.builder()
+                    .id(n.getId())
+                    .type(n.getType().name().toLowerCase())
+                    .workspaceName(n.getWorkspace().getName())
+                    .projectName(n.getWorkItem() != null ? n.getWorkItem().getProject().getName() : null)
+                    .subtitle(n.getSubtitle())
+                    .time(n.getCreatedAt().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm")))
+                    .build())
+                    .toList();
+            entityManager.clear();
+            return inbox.size();
+        });
+    }
+
+    // Returns the average nanoseconds per call after one warm-up call
+    private static long measure(String name, int expectedRows, IntSupplier call) {
+        assertThat(call.getAsInt()).isEqualTo(expectedRows);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.getAsInt();
+        }
+        long average = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-12s %,d notifications: %,d us/call%n", name, INBOX_SIZE, average / 1000);
+        return average;
+    }
+}
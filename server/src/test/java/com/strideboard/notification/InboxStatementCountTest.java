@@ -0,0 +1,216 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.jayway.jsonpath.JsonPath;
+import com.strideboard.BoardFixture;
+import com.strideboard.auth.PrincipalCache;
+import com.strideboard.data.notification.Notification;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workspace.Workspace;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * The inbox is built from one joined projection query, however many rows,
+ * workspaces and projects it spans, and bulk mark-read is a single DELETE.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Import(BoardFixture.class)
+class InboxStatementCountTest {
+
+    private static final int INBOX_SIZE = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private UnreadCounter unreadCounter;
+    @Autowired
+    private BoardFixture board;
+
+    private Statistics statistics;
+    private User user;
+    private List<Notification> notifications = new ArrayList<>();
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Inbox Reader");
+
+        // Three workspaces with one project and item each, so lazy loading would show up as extra selects
+        List<Workspace> workspaces = new ArrayList<>();
+        List<WorkItem> items = new ArrayList<>();
+        for (int w = 0; w < 3; w++) {
+            Workspace workspace = board.workspace("Inbox " + w, user);
+            workspaces.add(workspace);
+            items.add(board.item(board.project(workspace, "Project " + w), "Item " + w));
+        }
+
+        for (int i = 0; i < INBOX_SIZE; i++) {
+            boolean invite = i % 5 == 0;
+            notifications.add(Notification.builder()
+                    .recipient(user)
+                    .type(invite ? NotificationType.INVITE : NotificationType.UPDATE)
+                    .workspace(workspaces.get(i % 3))
+                    .workItem(invite ? null : items.get(i % 3))
+                    .title(invite ? "Workspace Invitation" : "Task Updated")
+                    .subtitle("Notification " + i)
+                    .build());
+        }
+        notifications = notificationRepository.saveAll(notifications);
+
+        // Warm the principal cache and unread counter so only the endpoint's own statements are counted
+        principalCache.resolve(new TestingAuthenticationToken(user.getEmail(), null));
+        unreadCounter.get(user.getId());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void fullInboxIsOneStatement() throws Exception {
+        mockMvc.perform(get("/api/notifications").with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isOk());
+
+        assertStatements(1);
+    }
+
+    @Test
+    void everyPageIsOneStatementAndPagesCoverTheInbox() throws Exception {
+        Set<String> seen = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+
+        do {
+            statistics.clear();
+            var request = get("/api/notifications/page")
+                    .param("limit", "8")
+                    .with(jwt().jwt(token -> token.subject(user.getEmail())));
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            String body = mockMvc.perform(request)
+                    .andExpect(status().isOk())
+                    .andReturn().getResponse().getContentAsString();
+
+            assertStatements(1);
+
+            List<String> ids = JsonPath.read(body, "$.items[*].id");
+            assertThat(seen).doesNotContainAnyElementsOf(ids);
+            seen.addAll(ids);
+            cursor = JsonPath.read(body, "$.nextCursor");
+            pages++;
+        } while (cursor != null);
+
+        assertThat(seen).hasSize(INBOX_SIZE);
+        assertThat(pages).isEqualTo(4);
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        mockMvc.perform(get("/api/notifications/page")
+                .param("cursor", "not-a-cursor")
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void bulkMarkReadByIdsIsOneStatementAndLeavesInvites() throws Exception {
+        String ids = notifications.stream()
+                .map(notification -> "\"" + notification.getId() + "\"")
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(post("/api/notifications/read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"ids\":[" + ids + "]}")
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.removed").value(INBOX_SIZE - INBOX_SIZE / 5));
+
+        assertStatements(1);
+        assertThat(notificationRepository.countByRecipientId(user.getId())).isEqualTo(INBOX_SIZE / 5);
+        assertThat(unreadCounter.get(user.getId())).isEqualTo(INBOX_SIZE / 5);
+    }
+
+    @Test
+    void bulkMarkReadUpToCursorKeepsNewerNotifications() throws Exception {
+        String firstPage = mockMvc.perform(get("/api/notifications/page")
+                .param("limit", "10")
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andReturn().getResponse().getContentAsString();
+        List<String> pageIds = JsonPath.read(firstPage, "$.items[*].id");
+        String cursor = JsonPath.read(firstPage, "$.nextCursor");
+
+        statistics.clear();
+        mockMvc.perform(post("/api/notifications/read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"upTo\":\"" + cursor + "\"}")
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isOk());
+        assertStatements(1);
+
+        // The cursor names the last item of the page: it and everything older is gone, invites excepted
+        String inbox = mockMvc.perform(get("/api/notifications")
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andReturn().getResponse().getContentAsString();
+        List<String> remainingIds = JsonPath.read(inbox, "$[*].id");
+        List<String> olderTypes = JsonPath.read(inbox, "$[9:].type");
+
+        assertThat(remainingIds).startsWith(pageIds.subList(0, 9).toArray(String[]::new));
+        assertThat(olderTypes).containsOnly("invite");
+    }
+
+    @Test
+    void bulkMarkReadNeedsExactlyOneSelector() throws Exception {
+        mockMvc.perform(post("/api/notifications/read")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}")
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void assertStatements(long expected) {
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements executed")
+                .isEqualTo(expected);
+    }
+}
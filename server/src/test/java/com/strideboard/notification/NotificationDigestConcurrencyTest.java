@@ -0,0 +1,172 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workspace.Workspace;
+
+/**
+ * Many request threads reporting edits to the same item at once must still end up
+ * as a single inbox row whose update_count accounts for every edit.
+ */
+@SpringBootTest
+@Import(BoardFixture.class)
+class NotificationDigestConcurrencyTest {
+
+    private static final int THREADS = 8;
+    private static final int UPDATES_PER_THREAD = 25;
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BoardFixture board;
+
+    private User assignee;
+    private Workspace workspace;
+    private WorkItem workItem;
+
+    @BeforeEach
+    void seed() {
+        assignee = board.user("Digest Assignee");
+        workspace = board.workspace("Digest", assignee);
+        Project project = board.project(workspace, "Digest");
+        workItem = board.item(project, "Dragged card", item -> item.assignee(assignee));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void concurrentUpdatesCollapseIntoOneRow() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < UPDATES_PER_THREAD; i++) {
+                        dispatcher.dispatch(List.of(updated()));
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> future : futures) {
+                future.get(30, TimeUnit.SECONDS);
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        awaitTotalUpdates(THREADS * UPDATES_PER_THREAD);
+        assertThat(rowCount()).isEqualTo(1);
+    }
+
+    @Test
+    void assignmentKeepsItsOwnRowAndUpdatesAreDigestedNextToIt() throws Exception {
+        dispatcher.dispatch(List.of(
+                PendingNotification.assigned(assignee.getId(), workspace.getId(), workItem.getId(), "Dragged card")));
+        for (int i = 0; i < 5; i++) {
+            dispatcher.dispatch(List.of(updated()));
+        }
+
+        awaitTotalUpdates(6);
+        assertThat(rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void updatesOutsideTheWindowStartANewRow() throws Exception {
+        dispatcher.dispatch(List.of(updated()));
+        awaitTotalUpdates(1);
+
+        // Age the existing row past the digest window
+        jdbcTemplate.update("UPDATE notifications SET created_at = created_at - INTERVAL '1 day' WHERE recipient_id = ?",
+                assignee.getId());
+
+        dispatcher.dispatch(List.of(updated()));
+        awaitTotalUpdates(2);
+        assertThat(rowCount()).isEqualTo(2);
+    }
+
+    @Test
+    void foldingKeepsCreatedAtAndAdvancesUpdatedAt() throws Exception {
+        dispatcher.dispatch(List.of(updated()));
+        awaitTotalUpdates(1);
+        Timestamp createdAt = jdbcTemplate.queryForObject(
+                "SELECT created_at FROM notifications WHERE recipient_id = ?", Timestamp.class, assignee.getId());
+
+        dispatcher.dispatch(List.of(updated()));
+        awaitTotalUpdates(2);
+
+        // The row keeps its place in already-fetched inbox pages
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT created_at, updated_at FROM notifications WHERE recipient_id = ?", assignee.getId());
+        assertThat(row.get("created_at")).isEqualTo(createdAt);
+        assertThat((Timestamp) row.get("updated_at")).isAfter(createdAt);
+    }
+
+    @Test
+    void windowIsAnchoredOnTheFirstUpdate() throws Exception {
+        dispatcher.dispatch(List.of(updated()));
+        awaitTotalUpdates(1);
+
+        // Created before the window, folded into moments ago: a later edit still starts a new row
+        jdbcTemplate.update("""
+                UPDATE notifications SET created_at = created_at - INTERVAL '1 day', updated_at = now()
+                WHERE recipient_id = ?
+                """, assignee.getId());
+
+        dispatcher.dispatch(List.of(updated()));
+        awaitTotalUpdates(2);
+        assertThat(rowCount()).isEqualTo(2);
+    }
+
+    private PendingNotification updated() {
+        return PendingNotification.updated(assignee.getId(), workspace.getId(), workItem.getId(), "Dragged card");
+    }
+
+    private void awaitTotalUpdates(long expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (totalUpdates() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertThat(totalUpdates()).isEqualTo(expected);
+    }
+
+    private long totalUpdates() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COALESCE(SUM(update_count), 0) FROM notifications WHERE recipient_id = ?",
+                Long.class, assignee.getId());
+    }
+
+    private long rowCount() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM notifications WHERE recipient_id = ?", Long.class, assignee.getId());
+    }
+}
@@ -0,0 +1,59 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+class NotificationDigestTest {
+
+    private final UUID recipient = UUID.randomUUID();
+    private final UUID workspace = UUID.randomUUID();
+    private final UUID item = UUID.randomUUID();
+
+    @Test
+    void repeatedUpdatesForTheSameItemCollapseIntoOne() {
+        List<PendingNotification> collapsed = NotificationDigest.collapse(List.of(
+                PendingNotification.updated(recipient, workspace, item, "Old title"),
+                PendingNotification.updated(recipient, workspace, item, "Middle title"),
+                PendingNotification.updated(recipient, workspace, item, "New title")));
+
+        assertThat(collapsed).hasSize(1);
+        assertThat(collapsed.get(0).updateCount()).isEqualTo(3);
+        assertThat(collapsed.get(0).subtitle()).isEqualTo("Updates were made to: New title");
+    }
+
+    @Test
+    void differentRecipientsAndItemsStaySeparate() {
+        UUID otherRecipient = UUID.randomUUID();
+        UUID otherItem = UUID.randomUUID();
+
+        List<PendingNotification> collapsed = NotificationDigest.collapse(List.of(
+                PendingNotification.updated(recipient, workspace, item, "A"),
+                PendingNotification.updated(otherRecipient, workspace, item, "A"),
+                PendingNotification.updated(recipient, workspace, otherItem, "B"),
+                PendingNotification.updated(recipient, workspace, item, "A")));
+
+        assertThat(collapsed).extracting(PendingNotification::updateCount).containsExactlyInAnyOrder(2, 1, 1);
+    }
+
+    @Test
+    void invitesAndAssignmentsAreNeverDigested() {
+        List<PendingNotification> collapsed = NotificationDigest.collapse(List.of(
+                PendingNotification.assigned(recipient, workspace, item, "Task"),
+                PendingNotification.updated(recipient, workspace, item, "Task"),
+                PendingNotification.invite(recipient, workspace, "Team"),
+                PendingNotification.invite(recipient, workspace, "Team"),
+                PendingNotification.updated(recipient, workspace, item, "Task")));
+
+        assertThat(collapsed).extracting(PendingNotification::title).containsExactlyInAnyOrder(
+                PendingNotification.TASK_ASSIGNED, "Workspace Invitation", "Workspace Invitation",
+                PendingNotification.TASK_UPDATED);
+        assertThat(collapsed).filteredOn(PendingNotification::isDigestible)
+                .singleElement()
+                .extracting(PendingNotification::updateCount)
+                .isEqualTo(2);
+    }
+}
@@ -0,0 +1,112 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workspace.Workspace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+// A small queue, so bursts exercise the wait-for-space path
+@SpringBootTest(properties = "app.notifications.dispatch.queue-capacity=8")
+@Import(BoardFixture.class)
+class NotificationDispatcherTest {
+
+    @Autowired
+    private NotificationDispatcher dispatcher;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+    private Workspace workspace;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Dispatch Recipient");
+        workspace = board.workspace("Dispatch", user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void queuedNotificationsAreWrittenAndABadRowDoesNotSinkItsBatch() throws Exception {
+        double failedBefore = failedCount();
+
+        List<PendingNotification> pending = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            pending.add(new PendingNotification(user.getId(), NotificationType.UPDATE, workspace.getId(),
+                    null, "Task Updated", "Update " + i, 1));
+        }
+        // Points at a work item that does not exist, so its insert violates the foreign key
+        pending.add(PendingNotification.assigned(user.getId(), workspace.getId(), UUID.randomUUID(),
+                "Deleted item"));
+        dispatcher.dispatch(pending);
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (failedCount() == failedBefore && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(notificationRepository.countByRecipientId(user.getId())).isEqualTo(500);
+        assertThat(failedCount()).isEqualTo(failedBefore + 1);
+    }
+
+    @Test
+    void overflowPublishedFromACommittedTransactionIsStillWritten() throws Exception {
+        double blockedBefore = blockedCount();
+
+        List<PendingNotification> pending = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            pending.add(new PendingNotification(user.getId(), NotificationType.UPDATE, workspace.getId(),
+                    null, "Task Updated", "Burst " + i, 1));
+        }
+        // Dispatched after commit, while the finished transaction is still bound to this thread
+        new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> eventPublisher.publishEvent(new NotificationsRequestedEvent(pending)));
+
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (notificationRepository.countByRecipientId(user.getId()) < 100
+                && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        assertThat(notificationRepository.countByRecipientId(user.getId())).isEqualTo(100);
+        assertThat(blockedCount()).isGreaterThan(blockedBefore);
+    }
+
+    private double blockedCount() {
+        return meterRegistry.get("notifications.dispatch.blocked").counter().count();
+    }
+
+    private double failedCount() {
+        return meterRegistry.get("notifications.dispatch.failed").counter().count();
+    }
+}
@@ -0,0 +1,97 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.web.socket.WebSocketHttpHeaders;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.auth.TokenService;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workspace.Workspace;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@Import(BoardFixture.class)
+class NotificationPushTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private TokenService tokenService;
+    @Autowired
+    private NotificationDispatcher dispatcher;
+    @Autowired
+    private BoardFixture board;
+
+    private final WebSocketStompClient stompClient = new WebSocketStompClient(new StandardWebSocketClient());
+    private User user;
+    private Workspace workspace;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Push Recipient");
+        workspace = board.workspace("Push", user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        stompClient.stop();
+        board.cleanUp();
+    }
+
+    @Test
+    void newNotificationIsPushedToTheRecipientQueue() throws Exception {
+        StompHeaders connectHeaders = new StompHeaders();
+        connectHeaders.add("Authorization",
+                "Bearer " + tokenService.generateToken(new TestingAuthenticationToken(user.getEmail(), null)));
+        StompSession session = stompClient.connectAsync("ws://localhost:" + port + "/ws/websocket",
+                new WebSocketHttpHeaders(), connectHeaders, new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+        session.setAutoReceipt(true);
+        session.subscribe("/user/queue/notifications", new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+            }
+        }).addReceiptTask(subscribed::countDown);
+        assertThat(subscribed.await(10, TimeUnit.SECONDS)).isTrue();
+
+        dispatcher.dispatch(List.of(PendingNotification.invite(user.getId(), workspace.getId(), workspace.getName())));
+
+        String update = received.poll(10, TimeUnit.SECONDS);
+        assertThat(update)
+                .contains("You have been invited to join Push")
+                .contains("\"unreadCount\":1");
+        session.disconnect();
+    }
+}
@@ -0,0 +1,112 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.notification.Notification;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workspace.Workspace;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Old updates are purged in chunks; invites and recent updates survive.
+ */
+@SpringBootTest(properties = {
+        "app.notifications.retention.batch-size=7",
+        "app.notifications.retention.max-batches=100000"
+})
+@Import(BoardFixture.class)
+class NotificationRetentionJobTest {
+
+    private static final int OLD_UPDATES = 50;
+    private static final int RECENT_UPDATES = 5;
+    private static final int OLD_INVITES = 3;
+
+    @Autowired
+    private NotificationRetentionJob retentionJob;
+    @Autowired
+    private UnreadCounter unreadCounter;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+    private Workspace workspace;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Retention Recipient");
+        workspace = board.workspace("Retention", user);
+
+        List<Notification> notifications = new ArrayList<>();
+        for (int i = 0; i < OLD_UPDATES + RECENT_UPDATES; i++) {
+            notifications.add(notification(NotificationType.UPDATE, "Task Updated"));
+        }
+        for (int i = 0; i < OLD_INVITES; i++) {
+            notifications.add(notification(NotificationType.INVITE, "Workspace Invitation"));
+        }
+        List<Notification> saved = notificationRepository.saveAll(notifications);
+
+        // Age every row except the recent updates
+        List<Object[]> aged = new ArrayList<>();
+        for (int i = 0; i < saved.size(); i++) {
+            if (i < OLD_UPDATES || i >= OLD_UPDATES + RECENT_UPDATES) {
+                aged.add(new Object[] { saved.get(i).getId() });
+            }
+        }
+        jdbcTemplate.batchUpdate(
+                "UPDATE notifications SET created_at = now() - INTERVAL '90 days' WHERE id = ?", aged);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void oldUpdatesArePurgedInChunks() {
+        // Cache a count the purge will make stale
+        assertThat(unreadCounter.get(user.getId())).isEqualTo(OLD_UPDATES + RECENT_UPDATES + OLD_INVITES);
+        double purgedBefore = meterRegistry.counter("notifications.retention.purged").count();
+
+        int removed = retentionJob.purgeOlderThan(LocalDateTime.now().minusDays(30));
+
+        // Other test data may be old too, so only this user's rows are checked exactly
+        assertThat(removed).isGreaterThanOrEqualTo(OLD_UPDATES);
+        assertThat(notificationRepository.countByRecipientId(user.getId()))
+                .isEqualTo(RECENT_UPDATES + OLD_INVITES);
+        assertThat(unreadCounter.get(user.getId())).isEqualTo(RECENT_UPDATES + OLD_INVITES);
+        assertThat(meterRegistry.counter("notifications.retention.purged").count() - purgedBefore)
+                .isEqualTo(removed);
+    }
+
+    private Notification notification(NotificationType type, String title) {
+        return Notification.builder()
+                .recipient(user)
+                .type(type)
+                .workspace(workspace)
+                .title(title)
+                .subtitle(title)
+                .build();
+    }
+}
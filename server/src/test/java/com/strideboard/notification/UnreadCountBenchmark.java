@@ -0,0 +1,96 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.notification.Notification;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workspace.Workspace;
+
+/**
+ * Compares the old has-unread path (load and format the whole inbox) with the count
+ * query and the in-memory counter, for one user with a 10k-notification inbox.
+ * Run with: mvn test -Pbenchmark -Dtest=UnreadCountBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(BoardFixture.class)
+class UnreadCountBenchmark {
+
+    private static final int INBOX_SIZE = Integer.getInteger("benchmark.inbox-size", 10_000);
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 50);
+
+    @Autowired
+    private NotificationService notificationService;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private UnreadCounter unreadCounter;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+    private Workspace workspace;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Busy Inbox");
+        workspace = board.workspace("Unread", user);
+
+        List<Notification> notifications = new ArrayList<>(INBOX_SIZE);
+        for (int i = 0; i < INBOX_SIZE; i++) {
+            notifications.add(Notification.builder()
+                    .recipient(user)
+                    .type(NotificationType.UPDATE)
+                    .workspace(workspace)
+                    .title("Task Updated")
+                    .subtitle("Updates were made to: task " + i)
+                    .build());
+        }
+        notificationRepository.saveAll(notifications);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Notifications cascade with the workspace
+        board.cleanUp();
+    }
+
+    @Test
+    void unreadCount() {
+        long legacy = measure("full inbox", () -> notificationService.getUserNotifications(user.getId()).size());
+        long query = measure("count query", () -> notificationRepository.countByRecipientId(user.getId()));
+        long counter = measure("counter", () -> unreadCounter.get(user.getId()));
+
+        System.out.printf("speedup vs full inbox: count query %.0fx, counter %.0fx%n",
+                (double) legacy / query, (double) legacy / counter);
+        assertThat(counter).isLessThan(legacy);
+    }
+
+    // Returns the average nanoseconds per call after one warm-up call
+    private static long measure(String name, LongSupplier call) {
+        assertThat(call.getAsLong()).isEqualTo(INBOX_SIZE);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.getAsLong();
+        }
+        long average = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-12s %,d notifications: %,d us/call%n", name, INBOX_SIZE, average / 1000);
+        return average;
+    }
+}
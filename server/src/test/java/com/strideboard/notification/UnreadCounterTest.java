@@ -0,0 +1,98 @@
+package com.strideboard.notification;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.notification.Notification;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workspace.Workspace;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A single node adjusts its cached count in memory; with several nodes the count comes
+ * from the database, so rows another node wrote show up at once.
+ */
+@SpringBootTest
+@Import(BoardFixture.class)
+class UnreadCounterTest {
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+    private Workspace workspace;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Unread Recipient");
+        workspace = board.workspace("Unread", user);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void singleNodeAdjustsItsCachedCount() {
+        UnreadCounter counter = counter(false);
+        assertThat(counter.get(user.getId())).isZero();
+
+        writeNotification();
+        assertThat(counter.increment(user.getId())).isEqualTo(1);
+        assertThat(counter.decrement(user.getId())).isZero();
+    }
+
+    @Test
+    void incrementWithoutACachedCountIsNotCountedTwice() {
+        UnreadCounter counter = counter(false);
+
+        writeNotification();
+
+        // Loaded after the commit, so the new row is already in the count
+        assertThat(counter.increment(user.getId())).isEqualTo(1);
+        assertThat(counter.get(user.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void multiNodeSeesRowsWrittenByAnotherNode() {
+        UnreadCounter counter = counter(true);
+        assertThat(counter.get(user.getId())).isZero();
+
+        // Written and pushed by another node's dispatcher: no event reaches this one
+        writeNotification();
+        writeNotification();
+
+        assertThat(counter.get(user.getId())).isEqualTo(2);
+    }
+
+    // A node of its own: a separate cache over the same database
+    private UnreadCounter counter(boolean multiNode) {
+        return new UnreadCounter(notificationRepository, new SimpleMeterRegistry(), 1_000,
+                Duration.ofMinutes(10), multiNode);
+    }
+
+    private void writeNotification() {
+        notificationRepository.save(Notification.builder()
+                .recipient(user)
+                .type(NotificationType.UPDATE)
+                .workspace(workspace)
+                .title("Task Updated")
+                .subtitle("Unread")
+                .build());
+    }
+}
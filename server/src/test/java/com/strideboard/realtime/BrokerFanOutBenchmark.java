@@ -0,0 +1,159 @@
+package com.strideboard.realtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageHandler;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.SimpMessageType;
+import org.springframework.messaging.simp.broker.AbstractBrokerMessageHandler;
+import org.springframework.messaging.simp.broker.BrokerAvailabilityEvent;
+import org.springframework.messaging.simp.broker.SimpleBrokerMessageHandler;
+import org.springframework.messaging.simp.stomp.StompBrokerRelayMessageHandler;
+import org.springframework.messaging.simp.stomp.StompCommand;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ExecutorSubscribableChannel;
+import org.springframework.messaging.support.MessageBuilder;
+
+/**
+ * Fan-out throughput of the in-memory broker versus the relay to an external broker,
+ * measured at the broker handler so WebSocket framing is left out.
+ * Run with: mvn test -Pbenchmark -Dtest=BrokerFanOutBenchmark
+ * The relay case opens one broker connection per subscriber, so large subscriber
+ * counts may need a higher open-file limit.
+ */
+@Tag("benchmark")
+class BrokerFanOutBenchmark {
+
+    private static final int SUBSCRIBERS = Integer.getInteger("benchmark.subscribers", 10_000);
+    private static final int MESSAGES = Integer.getInteger("benchmark.messages", 50);
+    private static final String TOPIC = "/topic/project/benchmark";
+
+    @Test
+    void simpleBroker() throws Exception {
+        Probe probe = new Probe();
+        SimpleBrokerMessageHandler handler = new SimpleBrokerMessageHandler(
+                new ExecutorSubscribableChannel(), probe.outbound(), new ExecutorSubscribableChannel(), List.of("/topic"));
+        handler.start();
+        try {
+            // The simple broker handles CONNECT and SUBSCRIBE synchronously
+            for (int i = 0; i < SUBSCRIBERS; i++) {
+                handler.handleMessage(connect(i));
+                handler.handleMessage(subscribe(i));
+            }
+            report("simple", measure(handler, probe));
+        } finally {
+            handler.stop();
+        }
+    }
+
+    @Test
+    void brokerRelay() throws Exception {
+        try (EmbeddedStompBroker broker = EmbeddedStompBroker.start()) {
+            Probe probe = new Probe();
+            StompBrokerRelayMessageHandler handler = new StompBrokerRelayMessageHandler(
+                    new ExecutorSubscribableChannel(), probe.outbound(), new ExecutorSubscribableChannel(), List.of("/topic"));
+            handler.setRelayHost("127.0.0.1");
+            handler.setRelayPort(broker.port());
+
+            CountDownLatch available = new CountDownLatch(1);
+            handler.setApplicationEventPublisher(event -> {
+                if (event instanceof BrokerAvailabilityEvent availability && availability.isBrokerAvailable()) {
+                    available.countDown();
+                }
+            });
+            handler.start();
+            try {
+                assertThat(available.await(30, TimeUnit.SECONDS)).isTrue();
+
+                for (int i = 0; i < SUBSCRIBERS; i++) {
+                    handler.handleMessage(connect(i));
+                }
+                assertThat(probe.connected.await(5, TimeUnit.MINUTES)).isTrue();
+
+                for (int i = 0; i < SUBSCRIBERS; i++) {
+                    handler.handleMessage(subscribe(i));
+                }
+                assertThat(probe.subscribed.await(5, TimeUnit.MINUTES)).isTrue();
+
+                report("relay", measure(handler, probe));
+            } finally {
+                handler.stop();
+            }
+        }
+    }
+
+    private static long measure(AbstractBrokerMessageHandler handler, Probe probe) throws InterruptedException {
+        long start = System.nanoTime();
+        for (int i = 0; i < MESSAGES; i++) {
+            handler.handleMessage(publish(i));
+        }
+        assertThat(probe.delivered.await(10, TimeUnit.MINUTES)).isTrue();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String broker, long nanos) {
+        long deliveries = (long) SUBSCRIBERS * MESSAGES;
+        double seconds = nanos / 1_000_000_000.0;
+        System.out.printf("%-6s %,d subscribers x %,d messages: %,.0f deliveries/s (%.2f s)%n",
+                broker, SUBSCRIBERS, MESSAGES, deliveries / seconds, seconds);
+    }
+
+    private static Message<byte[]> connect(int session) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.CONNECT);
+        accessor.setSessionId("session-" + session);
+        accessor.setAcceptVersion("1.2");
+        accessor.setHeartbeat(0, 0);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> subscribe(int session) {
+        StompHeaderAccessor accessor = StompHeaderAccessor.create(StompCommand.SUBSCRIBE);
+        accessor.setSessionId("session-" + session);
+        accessor.setSubscriptionId("sub-" + session);
+        accessor.setDestination(TOPIC);
+        accessor.setReceipt("subscribed-" + session);
+        return MessageBuilder.createMessage(new byte[0], accessor.getMessageHeaders());
+    }
+
+    private static Message<byte[]> publish(int sequence) {
+        SimpMessageHeaderAccessor accessor = SimpMessageHeaderAccessor.create(SimpMessageType.MESSAGE);
+        accessor.setDestination(TOPIC);
+        byte[] payload = ("{\"sequence\":" + sequence + "}").getBytes(StandardCharsets.UTF_8);
+        return MessageBuilder.createMessage(payload, accessor.getMessageHeaders());
+    }
+
+    // Counts what the broker sends back to the synthetic client sessions
+    private static final class Probe implements MessageHandler {
+        final CountDownLatch connected = new CountDownLatch(SUBSCRIBERS);
+        final CountDownLatch subscribed = new CountDownLatch(SUBSCRIBERS);
+        final CountDownLatch delivered = new CountDownLatch(SUBSCRIBERS * MESSAGES);
+
+        ExecutorSubscribableChannel outbound() {
+            ExecutorSubscribableChannel channel = new ExecutorSubscribableChannel();
+            channel.subscribe(this);
+            return channel;
+        }
+
+        @Override
+        public void handleMessage(Message<?> message) {
+            if (SimpMessageHeaderAccessor.getMessageType(message.getHeaders()) == SimpMessageType.MESSAGE) {
+                delivered.countDown();
+                return;
+            }
+            StompCommand command = StompHeaderAccessor.wrap(message).getCommand();
+            if (command == StompCommand.CONNECTED) {
+                connected.countDown();
+            } else if (command == StompCommand.RECEIPT) {
+                subscribed.countDown();
+            }
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.strideboard.realtime;
+
+import java.io.IOException;
+import java.net.ServerSocket;
+
+import org.apache.activemq.artemis.core.config.Configuration;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.embedded.EmbeddedActiveMQ;
+
+/**
+ * In-process Artemis broker with a STOMP acceptor, used in place of the external
+ * broker that app.websocket.broker=relay talks to in production.
+ */
+final class EmbeddedStompBroker implements AutoCloseable {
+    private final EmbeddedActiveMQ server;
+    private final int port;
+
+    private EmbeddedStompBroker(EmbeddedActiveMQ server, int port) {
+        this.server = server;
+        this.port = port;
+    }
+
+    static EmbeddedStompBroker start() throws Exception {
+        int port = freePort();
+        Configuration config = new ConfigurationImpl()
+                .setPersistenceEnabled(false)
+                .setSecurityEnabled(false)
+                .addAcceptorConfiguration("stomp", "tcp://127.0.0.1:" + port
+                        + "?protocols=STOMP;multicastPrefix=/topic/;anycastPrefix=/queue/");
+
+        EmbeddedActiveMQ server = new EmbeddedActiveMQ();
+        server.setConfiguration(config);
+        server.start();
+        return new EmbeddedStompBroker(server, port);
+    }
+
+    int port() {
+        return port;
+    }
+
+    @Override
+    public void close() throws Exception {
+        server.stop();
+    }
+
+    private static int freePort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return socket.getLocalPort();
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.strideboard.realtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import com.strideboard.realtime.WorkItemSocketEvent.EventType;
+
+class ProjectBroadcasterTest {
+
+    private final SimpMessagingTemplate template = mock(SimpMessagingTemplate.class);
+    private final ProjectBroadcaster broadcaster = new ProjectBroadcaster(template, Duration.ofMillis(50), 1);
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void patchesToTheSameItemAreMergedIntoOneFrame() {
+        UUID projectId = UUID.randomUUID();
+        String itemId = UUID.randomUUID().toString();
+
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.patched(itemId, Map.of("status", "IN_PROGRESS")));
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.patched(itemId, Map.of("position", 2000.0)));
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.patched(itemId, Map.of("status", "DONE")));
+
+        WorkItemEventBatch batch = captureBatch(projectId);
+        assertThat(batch.events()).hasSize(1);
+        assertThat(batch.fromVersion()).isEqualTo(batch.toVersion());
+
+        WorkItemSocketEvent event = batch.events().get(0);
+        assertThat(event.getType()).isEqualTo(EventType.PATCHED);
+        assertThat(event.getChanges()).containsEntry("status", "DONE").containsEntry("position", 2000.0);
+    }
+
+    @Test
+    void deleteDropsPendingPatchesAndVersionsAreConsecutive() {
+        UUID projectId = UUID.randomUUID();
+        String patchedId = UUID.randomUUID().toString();
+        String deletedId = UUID.randomUUID().toString();
+
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.patched(patchedId, Map.of("title", "a")));
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.patched(deletedId, Map.of("title", "b")));
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.deleted(deletedId));
+
+        WorkItemEventBatch batch = captureBatch(projectId);
+        assertThat(batch.events()).extracting(WorkItemSocketEvent::getType)
+                .containsExactly(EventType.PATCHED, EventType.DELETED);
+        assertThat(batch.toVersion() - batch.fromVersion()).isEqualTo(1);
+        assertThat(batch.events()).extracting(WorkItemSocketEvent::getVersion)
+                .containsExactly(batch.fromVersion(), batch.toVersion());
+    }
+
+    private WorkItemEventBatch captureBatch(UUID projectId) {
+        ArgumentCaptor<Object> payload = ArgumentCaptor.forClass(Object.class);
+        verify(template, timeout(2000)).convertAndSend(eq("/topic/project/" + projectId), payload.capture());
+        return (WorkItemEventBatch) payload.getValue();
+    }
+}
@@ -0,0 +1,134 @@
+package com.strideboard.realtime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.messaging.simp.stomp.ReactorNettyTcpStompClient;
+import org.springframework.messaging.simp.stomp.StompFrameHandler;
+import org.springframework.messaging.simp.stomp.StompHeaders;
+import org.springframework.messaging.simp.stomp.StompSession;
+import org.springframework.messaging.simp.stomp.StompSessionHandlerAdapter;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.socket.client.standard.StandardWebSocketClient;
+import org.springframework.web.socket.messaging.WebSocketStompClient;
+
+/**
+ * Runs the server in relay mode against an embedded broker. A plain STOMP TCP client
+ * on the same broker plays the part of a second server node.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "app.websocket.broker=relay")
+class StompBrokerRelayTest {
+
+    private static final EmbeddedStompBroker broker = startBroker();
+
+    @Autowired
+    private ProjectBroadcaster broadcaster;
+
+    @LocalServerPort
+    private int port;
+
+    private final ReactorNettyTcpStompClient otherNode = new ReactorNettyTcpStompClient("127.0.0.1", broker.port());
+    private StompSession otherNodeSession;
+    private WebSocketStompClient browser;
+
+    @DynamicPropertySource
+    static void relayProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.websocket.relay.host", () -> "127.0.0.1");
+        registry.add("app.websocket.relay.port", broker::port);
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (otherNodeSession != null) {
+            otherNodeSession.disconnect();
+        }
+        otherNode.shutdown();
+        if (browser != null) {
+            browser.stop();
+        }
+    }
+
+    @AfterAll
+    static void stopBroker() throws Exception {
+        broker.close();
+    }
+
+    @Test
+    void broadcastReachesSubscribersOfOtherNodes() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        String itemId = UUID.randomUUID().toString();
+
+        otherNodeSession = otherNode.connectAsync(new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        BlockingQueue<String> received = subscribe(otherNodeSession, "/topic/project/" + projectId);
+
+        broadcaster.broadcast(projectId, WorkItemSocketEvent.deleted(itemId));
+
+        assertThat(received.poll(10, TimeUnit.SECONDS)).contains(itemId).contains("DELETED");
+    }
+
+    @Test
+    void eventsFromOtherNodesReachThisNodesWebSocketClients() throws Exception {
+        UUID projectId = UUID.randomUUID();
+        String destination = "/topic/project/" + projectId;
+
+        browser = new WebSocketStompClient(new StandardWebSocketClient());
+        StompSession browserSession = browser.connectAsync("ws://localhost:" + port + "/ws/websocket",
+                new StompSessionHandlerAdapter() {
+                }).get(10, TimeUnit.SECONDS);
+        BlockingQueue<String> received = subscribe(browserSession, destination);
+
+        otherNodeSession = otherNode.connectAsync(new StompSessionHandlerAdapter() {
+        }).get(10, TimeUnit.SECONDS);
+        otherNodeSession.send(destination, "from-other-node".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(received.poll(10, TimeUnit.SECONDS)).isEqualTo("from-other-node");
+        browserSession.disconnect();
+    }
+
+    // Subscribes and waits for the broker's receipt so nothing published afterwards is missed.
+    // Payloads are read as raw bytes, whatever content type the sender used.
+    private static BlockingQueue<String> subscribe(StompSession session, String destination) throws InterruptedException {
+        BlockingQueue<String> received = new LinkedBlockingQueue<>();
+        CountDownLatch subscribed = new CountDownLatch(1);
+
+        session.setAutoReceipt(true);
+        StompSession.Subscription subscription = session.subscribe(destination, new StompFrameHandler() {
+            @Override
+            public Type getPayloadType(StompHeaders headers) {
+                return byte[].class;
+            }
+
+            @Override
+            public void handleFrame(StompHeaders headers, Object payload) {
+                received.add(new String((byte[]) payload, StandardCharsets.UTF_8));
+            }
+        });
+        subscription.addReceiptTask(subscribed::countDown);
+
+        assertThat(subscribed.await(10, TimeUnit.SECONDS)).isTrue();
+        return received;
+    }
+
+    private static EmbeddedStompBroker startBroker() {
+        try {
+            return EmbeddedStompBroker.start();
+        } catch (Exception e) {
+            throw new IllegalStateException("Could not start embedded STOMP broker", e);
+        }
+    }
+}
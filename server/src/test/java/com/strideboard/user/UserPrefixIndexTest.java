@@ -0,0 +1,72 @@
+package com.strideboard.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.strideboard.data.user.UserSummary;
+
+class UserPrefixIndexTest {
+
+    private static final Predicate<UUID> NONE = id -> false;
+
+    private final UserPrefixIndex index = new UserPrefixIndex();
+
+    private final UserSummary alice = user("Alice@Example.com");
+    private final UserSummary alex = user("alex@example.com");
+    private final UserSummary bob = user("bob@alpha.io");
+    private final UserSummary carol = user("carol@example.com");
+
+    @BeforeEach
+    void load() {
+        index.load(List.of(carol, bob, alice, alex));
+    }
+
+    @Test
+    void prefixMatchesComeBackInEmailOrderIgnoringCase() {
+        assertThat(index.findByPrefix("al", NONE, 10)).containsExactly(alex, alice);
+        assertThat(index.findByPrefix("alice@", NONE, 10)).containsExactly(alice);
+        assertThat(index.findByPrefix("zed", NONE, 10)).isEmpty();
+    }
+
+    @Test
+    void prefixLookupHonoursLimitAndExclusion() {
+        assertThat(index.findByPrefix("al", NONE, 1)).containsExactly(alex);
+        assertThat(index.findByPrefix("al", alex.id()::equals, 10)).containsExactly(alice);
+    }
+
+    @Test
+    void containingSkipsWhatThePrefixLookupAlreadyReturned() {
+        assertThat(index.findContaining("al", NONE, 10)).containsExactly(bob);
+        assertThat(index.findContaining("example", NONE, 10)).containsExactly(alex, alice, carol);
+        assertThat(index.findContaining("example", NONE, 2)).containsExactly(alex, alice);
+    }
+
+    @Test
+    void replaceFollowsAnEmailChange() {
+        UserSummary renamed = new UserSummary(alice.id(), "zoe@example.com", "Zoe");
+        index.replace(List.of("alice@example.com", "zoe@example.com"), List.of(renamed));
+
+        assertThat(index.findByPrefix("al", NONE, 10)).containsExactly(alex);
+        assertThat(index.findByPrefix("zoe", NONE, 10)).containsExactly(renamed);
+        assertThat(index.size()).isEqualTo(4);
+    }
+
+    @Test
+    void replaceAddsNewUsers() {
+        UserSummary dave = user("dave@example.com");
+        index.replace(List.of(dave.email()), List.of(dave));
+
+        assertThat(index.findByPrefix("d", NONE, 10)).containsExactly(dave);
+        assertThat(index.size()).isEqualTo(5);
+    }
+
+    private static UserSummary user(String email) {
+        return new UserSummary(UUID.randomUUID(), email, null);
+    }
+}
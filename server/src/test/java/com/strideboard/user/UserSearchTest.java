@@ -0,0 +1,127 @@
+package com.strideboard.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.user.User;
+import com.strideboard.data.user.UserSummary;
+import com.strideboard.data.workspace.Workspace;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Database-backed search: prefix matches first, then matches inside the address, with
+ * the limit (and, for workspace invites, the member filter) applied in SQL and no
+ * entities loaded.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@Import(BoardFixture.class)
+class UserSearchTest {
+
+    @Autowired
+    private UserSearch userSearch;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private BoardFixture board;
+
+    // Unique per run, so other rows in the database never match
+    private final String token = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    private final List<User> users = new ArrayList<>();
+    private Workspace workspace;
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        for (String email : List.of(token + "-b@search.test", token + "-a@search.test", "x-" + token + "@search.test",
+                token + "_c@search.test", "caller-" + token + "@search.test")) {
+            users.add(board.save(User.builder().email(email).password("password").build()));
+        }
+
+        // The caller and the first prefix match are already members
+        workspace = board.workspace("Search", users.get(4));
+        board.join(workspace, "MEMBER", users.get(4), users.get(1));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void prefixMatchesComeBeforeMatchesInsideTheAddress() {
+        List<String> emails = emails(userSearch.search(token.toUpperCase(), UUID.randomUUID(), 10));
+
+        assertThat(emails).containsExactly(
+                token + "-a@search.test", token + "-b@search.test", token + "_c@search.test",
+                "caller-" + token + "@search.test", "x-" + token + "@search.test");
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void fullPrefixPageSkipsTheSecondQuery() {
+        assertThat(userSearch.search(token, UUID.randomUUID(), 2)).hasSize(2);
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void callerIsExcluded() {
+        User caller = users.get(4);
+
+        assertThat(emails(userSearch.search(token, caller.getId(), 10)))
+                .doesNotContain(caller.getEmail())
+                .hasSize(4);
+    }
+
+    @Test
+    void workspaceSearchSkipsMembersBeforeTheLimit() {
+        List<String> emails = emails(userSearch.searchNotInWorkspace(token, workspace.getId(), 2));
+
+        // -a is a member, so the page is filled from the next prefix matches
+        assertThat(emails).containsExactly(token + "-b@search.test", token + "_c@search.test");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void workspaceSearchFallsBackToMatchesInsideTheAddress() {
+        assertThat(emails(userSearch.searchNotInWorkspace(token, workspace.getId(), 10)))
+                .containsExactly(token + "-b@search.test", token + "_c@search.test", "x-" + token + "@search.test");
+    }
+
+    @Test
+    void wildcardsInTheQueryAreLiteral() {
+        assertThat(emails(userSearch.search(token + "_", UUID.randomUUID(), 10)))
+                .containsExactly(token + "_c@search.test");
+        assertThat(userSearch.search("%" + token.substring(0, 2), UUID.randomUUID(), 10)).isEmpty();
+    }
+
+    @Test
+    void shortQueriesOnlyMatchPrefixes() {
+        assertThat(userSearch.search("x", UUID.randomUUID(), 10)).isEmpty();
+        // Every seeded address contains "se" (@search.test), none starts with it
+        assertThat(emails(userSearch.search("se", UUID.randomUUID(), 10)))
+                .doesNotContainAnyElementsOf(users.stream().map(User::getEmail).toList());
+    }
+
+    private static List<String> emails(List<UserSummary> users) {
+        return users.stream().map(UserSummary::email).toList();
+    }
+}
@@ -0,0 +1,129 @@
+package com.strideboard.user;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.strideboard.data.user.User;
+import com.strideboard.data.user.UserSummary;
+import com.strideboard.data.workspace.Membership;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Invite search in a 10k-member workspace where every member matches the query: the
+ * previous load-all-members-then-filter implementation against the NOT EXISTS query.
+ * Run with: mvn test -Pbenchmark -Dtest=WorkspaceUserSearchBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+class WorkspaceUserSearchBenchmark {
+
+    private static final int MEMBERS = Integer.getInteger("benchmark.members", 10_000);
+    private static final int OUTSIDERS = 100;
+    private static final int LIMIT = 10;
+    private static final int ITERATIONS = Integer.getInteger("benchmark.iterations", 20);
+
+    @Autowired
+    private UserSearch userSearch;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private final String query = "ws-bench-" + UUID.randomUUID().toString().substring(0, 8);
+    private UUID workspaceId;
+
+    @BeforeEach
+    void seed() {
+        jdbcTemplate.update("""
+                INSERT INTO users (id, email, password, full_name)
+                SELECT gen_random_uuid(), ? || '-' || kind || '-' || i || '@strideboard.test', 'password', 'Bench ' || i
+                FROM (VALUES ('member', CAST(? AS int)), ('outsider', CAST(? AS int))) AS k(kind, n)
+                CROSS JOIN LATERAL generate_series(1, k.n) i
+                """, query, MEMBERS, OUTSIDERS);
+
+        workspaceId = UUID.randomUUID();
+        jdbcTemplate.update("""
+                INSERT INTO workspaces (id, name, slug, owner_id)
+                SELECT ?, 'Search Benchmark', ?, id FROM users WHERE email = ? || '-member-1@strideboard.test'
+                """, workspaceId, query, query);
+        jdbcTemplate.update("""
+                INSERT INTO membership (id, role, user_id, workspace_id)
+                SELECT gen_random_uuid(), 'MEMBER', id, ? FROM users WHERE email LIKE ? || '-member-%'
+                """, workspaceId, query);
+        jdbcTemplate.execute("ANALYZE users, membership");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM membership WHERE workspace_id = ?", workspaceId);
+        jdbcTemplate.update("DELETE FROM workspaces WHERE id = ?", workspaceId);
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE ? || '-%'", query);
+    }
+
+    @Test
+    void searchNotInWorkspace() {
+        long legacy = measure("load + filter", this::legacySearch);
+        long antiJoin = measure("NOT EXISTS", () -> userSearch.searchNotInWorkspace(query, workspaceId, LIMIT).stream()
+                .map(UserSummary::email)
+                .toList());
+
+        System.out.printf("speedup: %.0fx%n", (double) legacy / antiJoin);
+        assertThat(antiJoin).isLessThan(legacy);
+    }
+
+    // The implementation this replaced, kept here as the baseline
+    private List<String> legacySearch() {
+        return transactionTemplate.execute(status -> {
+            List<String> memberEmails = entityManager.createQuery(
+                    "SELECT m FROM Membership m WHERE m.workspace.id = :workspaceId", Membership.class)
+                    .setParameter("workspaceId", workspaceId)
+                    .getResultList().stream()
+                    .map(m -> m.getUser().getEmail().toLowerCase())
+                    .collect(Collectors.toList());
+
+            List<String> results = entityManager.createQuery(
+                    "SELECT u FROM User u WHERE LOWER(u.email) LIKE :pattern", User.class)
+                    .setParameter("pattern", "%" + query.toLowerCase(Locale.ROOT) + "%")
+                    .getResultList().stream()
+                    .filter(u -> !memberEmails.contains(u.getEmail().toLowerCase()))
+                    .limit(LIMIT)
+                    .map(User::getEmail)
+                    .collect(Collectors.toList());
+            entityManager.clear();
+            return results;
+        });
+    }
+
+    // Returns the average nanoseconds per call after one checked warm-up call
+    private long measure(String name, Supplier<List<String>> call) {
+        List<String> emails = call.get();
+        assertThat(emails).hasSize(LIMIT).allMatch(email -> email.startsWith(query + "-outsider-"));
+        assertThat(Set.copyOf(emails)).hasSize(LIMIT);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            call.get();
+        }
+        long average = (System.nanoTime() - start) / ITERATIONS;
+        System.out.printf("%-14s %,d members: %,d us/search%n", name, MEMBERS, average / 1000);
+        return average;
+    }
+}
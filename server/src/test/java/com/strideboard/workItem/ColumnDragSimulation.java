@@ -0,0 +1,119 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.fail;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.realtime.WorkItemSocketEvent;
+
+/**
+ * Random drag-and-drops against one TODO column, using the board's midpoint rule.
+ * Half of the drops hammer the same two slots to force precision exhaustion.
+ * Tracks what the board shows, the intended order and each item's position with the
+ * renumber patches applied, so callers can check it against itself and the database.
+ */
+final class ColumnDragSimulation {
+    private final WorkItemPositions positions;
+    private final JdbcTemplate jdbcTemplate;
+    private final UUID projectId;
+    private final Random random;
+
+    private final List<UUID> order = new ArrayList<>();
+    private final Map<UUID, Double> positionById = new HashMap<>();
+    private int moves;
+    private int renumbers;
+
+    ColumnDragSimulation(WorkItemPositions positions, JdbcTemplate jdbcTemplate, List<WorkItem> column, long seed) {
+        this.positions = positions;
+        this.jdbcTemplate = jdbcTemplate;
+        this.projectId = column.get(0).getProject().getId();
+        this.random = new Random(seed);
+        for (WorkItem item : column) {
+            order.add(item.getId());
+            positionById.put(item.getId(), item.getPosition());
+        }
+    }
+
+    // One drop; true when it made the column be renumbered
+    boolean drag() {
+        moves++;
+        UUID itemId = order.remove(random.nextInt(order.size()));
+        // Hot spots: the top slot and the slot right under the first item
+        int target = random.nextBoolean() ? random.nextInt(2) : random.nextInt(order.size() + 1);
+        order.add(target, itemId);
+
+        double position = dropPosition(target);
+        positionById.put(itemId, position);
+        jdbcTemplate.update("UPDATE work_items SET position = ? WHERE id = ?", position, itemId);
+
+        List<WorkItemSocketEvent> patches = positions.rebalanceIfCrowded(
+                projectId, WorkItemStatus.TODO, itemId, position);
+        if (patches.isEmpty()) {
+            return false;
+        }
+        renumbers++;
+        patches.forEach(patch -> positionById.put(UUID.fromString(patch.getWorkItemId()),
+                (Double) patch.getChanges().get("position")));
+        return true;
+    }
+
+    int moves() {
+        return moves;
+    }
+
+    int renumbers() {
+        return renumbers;
+    }
+
+    // What the board shows: the intended order with strictly increasing positions
+    void assertStrictlyIncreasing() {
+        double previous = Double.NEGATIVE_INFINITY;
+        for (UUID id : order) {
+            double position = positionById.get(id);
+            if (position <= previous) {
+                fail("Positions out of order after %d moves: %s then %s".formatted(moves, previous, position));
+            }
+            previous = position;
+        }
+    }
+
+    // The column in the database: the intended order, distinct positions, and the ones the board holds
+    void assertDatabaseAgrees() {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(
+                "SELECT id, position FROM work_items WHERE project_id = ? AND status = 'TODO' ORDER BY position, id",
+                projectId);
+        assertThat(rows).extracting(row -> (UUID) row.get("id"))
+                .as("database order after %d moves", moves)
+                .isEqualTo(order);
+        assertThat(rows).extracting(row -> (Double) row.get("position"))
+                .as("database positions after %d moves", moves)
+                .doesNotHaveDuplicates()
+                .isEqualTo(order.stream().map(positionById::get).toList());
+    }
+
+    // Same rule as the board page: halve at the top, +STEP at the bottom, midpoint otherwise
+    private double dropPosition(int index) {
+        boolean hasPrev = index > 0;
+        boolean hasNext = index < order.size() - 1;
+        if (!hasPrev && !hasNext) {
+            return WorkItemPositions.STEP;
+        }
+        if (!hasPrev) {
+            return positionById.get(order.get(index + 1)) / 2;
+        }
+        if (!hasNext) {
+            return positionById.get(order.get(index - 1)) + WorkItemPositions.STEP;
+        }
+        return (positionById.get(order.get(index - 1)) + positionById.get(order.get(index + 1))) / 2;
+    }
+}
@@ -0,0 +1,174 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Concurrent creates in one project get unique positions after everything already
+ * there, each thread seeing its own positions increase, also when several allocators
+ * (one per node) share the database.
+ */
+@SpringBootTest
+@Import(BoardFixture.class)
+class PositionAllocatorTest {
+
+    private static final int THREADS = 16;
+    private static final int PER_THREAD = 1_000;
+    private static final double EXISTING_MAX = 7_500.0;
+
+    @Autowired
+    private PositionAllocator allocator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
+    private BoardFixture board;
+
+    private Project project;
+
+    @BeforeEach
+    void seed() {
+        project = board.project(board.workspace("Allocator", board.user("Allocator Tester")));
+        board.item(project, "Existing", item -> item.position(EXISTING_MAX));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void concurrentAllocationsAreUniqueAndIncreasing() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Double>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    List<Double> positions = new ArrayList<>(PER_THREAD);
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        positions.add(allocator.next(project.getId()));
+                    }
+                    return positions;
+                }));
+            }
+            start.countDown();
+
+            Set<Double> all = new HashSet<>();
+            for (Future<List<Double>> future : futures) {
+                List<Double> positions = future.get(30, TimeUnit.SECONDS);
+                assertThat(positions).isSorted().doesNotHaveDuplicates();
+                all.addAll(positions);
+            }
+
+            // No gaps and no repeats: exactly the next THREADS * PER_THREAD slots after the seed
+            assertThat(all).hasSize(THREADS * PER_THREAD);
+            assertThat(all.stream().mapToDouble(Double::doubleValue).min().orElseThrow())
+                    .isEqualTo(EXISTING_MAX + WorkItemPositions.STEP);
+            assertThat(all.stream().mapToDouble(Double::doubleValue).max().orElseThrow())
+                    .isEqualTo(EXISTING_MAX + WorkItemPositions.STEP * THREADS * PER_THREAD);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void movesPastTheEndRaiseTheMark() {
+        double first = allocator.next(project.getId());
+        allocator.observe(project.getId(), first + 500_000);
+
+        assertThat(allocator.next(project.getId())).isGreaterThan(first + 500_000);
+    }
+
+    @Test
+    void nodesSharingTheDatabaseNeverHandOutTheSamePosition() throws Exception {
+        List<PositionAllocator> nodes = List.of(node(false), node(false));
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<Double>>> futures = new ArrayList<>();
+        try {
+            for (int t = 0; t < THREADS; t++) {
+                PositionAllocator node = nodes.get(t % nodes.size());
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    List<Double> positions = new ArrayList<>(PER_THREAD);
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        positions.add(node.next(project.getId()));
+                    }
+                    return positions;
+                }));
+            }
+            start.countDown();
+
+            Set<Double> all = new HashSet<>();
+            for (Future<List<Double>> future : futures) {
+                List<Double> positions = future.get(30, TimeUnit.SECONDS);
+                assertThat(positions).isSorted().doesNotHaveDuplicates();
+                all.addAll(positions);
+            }
+
+            assertThat(all).hasSize(THREADS * PER_THREAD);
+            assertThat(all.stream().mapToDouble(Double::doubleValue).min().orElseThrow())
+                    .isGreaterThan(EXISTING_MAX);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void multiNodeAppendsFollowCreationOrderAcrossNodes() {
+        PositionAllocator first = node(true);
+        PositionAllocator second = node(true);
+
+        List<Double> positions = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            positions.add((i % 3 == 0 ? second : first).next(project.getId()));
+        }
+
+        assertThat(positions).isSorted().doesNotHaveDuplicates();
+        assertThat(positions.get(0)).isEqualTo(EXISTING_MAX + WorkItemPositions.STEP);
+    }
+
+    @Test
+    void aMoveOnOneNodeRaisesTheMarkForTheOther() {
+        PositionAllocator first = node(true);
+        PositionAllocator second = node(true);
+        double before = second.next(project.getId());
+
+        first.observe(project.getId(), before + 500_000);
+
+        assertThat(second.next(project.getId())).isEqualTo(before + 500_000 + WorkItemPositions.STEP);
+    }
+
+    // Another app node: its own in-memory blocks, the same database
+    private PositionAllocator node(boolean multiNode) {
+        return new PositionAllocator(jdbcTemplate, transactionManager, new SimpleMeterRegistry(),
+                1_000, Duration.ofMinutes(10), 10, multiNode);
+    }
+}
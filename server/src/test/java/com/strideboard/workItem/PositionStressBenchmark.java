@@ -0,0 +1,69 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+
+/**
+ * 100k random drag-and-drops against one column (see ColumnDragSimulation).
+ * After every drop the column's order must match the intended order with strictly
+ * increasing positions, and the database must agree at regular checkpoints.
+ * Run with: mvn test -Pbenchmark -Dtest=PositionStressBenchmark
+ */
+@Tag("benchmark")
+@SpringBootTest
+@Import(BoardFixture.class)
+class PositionStressBenchmark {
+
+    private static final int ITEMS = 100;
+    private static final int MOVES = Integer.getInteger("benchmark.moves", 100_000);
+    private static final int CHECKPOINT = 5_000;
+
+    @Autowired
+    private WorkItemPositions positions;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BoardFixture board;
+
+    private ColumnDragSimulation column;
+
+    @BeforeEach
+    void seed() {
+        Project project = board.project(board.workspace("Stress", board.user("Stress Tester")));
+        column = new ColumnDragSimulation(positions, jdbcTemplate, board.items(project, ITEMS), 42);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void randomMovesNeverLoseOrder() {
+        long start = System.nanoTime();
+
+        for (int move = 1; move <= MOVES; move++) {
+            column.drag();
+            column.assertStrictlyIncreasing();
+            if (move % CHECKPOINT == 0) {
+                column.assertDatabaseAgrees();
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%d moves in %.1fs (%.0f moves/s), %d column renumbers%n",
+                MOVES, seconds, MOVES / seconds, column.renumbers());
+        assertThat(column.renumbers()).isPositive();
+    }
+}
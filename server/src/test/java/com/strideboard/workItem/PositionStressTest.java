@@ -0,0 +1,61 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+
+/**
+ * PositionStressBenchmark at a size that runs with every build: enough hot-spot
+ * drops to exhaust the gaps several times. After every renumber the database must
+ * hold the intended order with distinct positions.
+ */
+@SpringBootTest
+@Import(BoardFixture.class)
+class PositionStressTest {
+
+    private static final int ITEMS = 30;
+    private static final int MOVES = 3_000;
+
+    @Autowired
+    private WorkItemPositions positions;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BoardFixture board;
+
+    private ColumnDragSimulation column;
+
+    @BeforeEach
+    void seed() {
+        Project project = board.project(board.workspace("Stress", board.user("Stress Tester")));
+        column = new ColumnDragSimulation(positions, jdbcTemplate, board.items(project, ITEMS), 7);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void renumbersKeepTheOrderAndDistinctPositions() {
+        for (int move = 1; move <= MOVES; move++) {
+            boolean renumbered = column.drag();
+            column.assertStrictlyIncreasing();
+            if (renumbered) {
+                column.assertDatabaseAgrees();
+            }
+        }
+
+        column.assertDatabaseAgrees();
+        assertThat(column.renumbers()).as("column renumbers").isGreaterThan(1);
+    }
+}
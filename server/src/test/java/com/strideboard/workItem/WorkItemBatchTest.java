@@ -0,0 +1,232 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workspace.Workspace;
+import com.strideboard.realtime.ProjectBroadcaster;
+import com.strideboard.realtime.WorkItemSocketEvent;
+import com.strideboard.realtime.WorkItemSocketEvent.EventType;
+
+/**
+ * A triage session's worth of moves, assignments and deletes goes through in one
+ * request, one transaction and one broadcast.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(BoardFixture.class)
+class WorkItemBatchTest {
+
+    private static final int ITEMS = 200;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private WorkItemRepository workItemRepository;
+    @Autowired
+    private WorkItemChangeLog changeLog;
+    @Autowired
+    private BoardFixture board;
+
+    @MockitoBean
+    private ProjectBroadcaster broadcaster;
+
+    private User user;
+    private User teammate;
+    private Workspace workspace;
+    private Project project;
+    private List<WorkItem> items;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Batch Tester");
+        teammate = board.user("Batch Teammate");
+        workspace = board.workspace("Batch", user);
+        board.join(workspace, "MEMBER", user, teammate);
+        project = board.project(workspace);
+        items = board.items(project, ITEMS, (item, i) -> item.status(WorkItemStatus.BACKLOG));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void movesAssignsAndDeletesInOneRequest() throws Exception {
+        List<String> operations = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            operations.add(op("MOVE", items.get(i), "\"status\":\"TODO\",\"position\":" + (i + 0.5)));
+        }
+        for (int i = 150; i < 180; i++) {
+            operations.add(op("ASSIGN", items.get(i), "\"assigneeId\":\"" + teammate.getId() + "\""));
+        }
+        for (int i = 180; i < ITEMS; i++) {
+            operations.add(op("DELETE", items.get(i), null));
+        }
+
+        mockMvc.perform(post(baseUrl() + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(operations))
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.moved").value(150))
+                .andExpect(jsonPath("$.assigned").value(30))
+                .andExpect(jsonPath("$.deleted").value(20));
+
+        List<WorkItem> remaining = workItemRepository.findByProjectId(project.getId());
+        assertThat(remaining).hasSize(180);
+        assertThat(workItemRepository.findById(items.get(0).getId()).orElseThrow())
+                .satisfies(item -> {
+                    assertThat(item.getStatus()).isEqualTo(WorkItemStatus.TODO);
+                    assertThat(item.getPosition()).isEqualTo(0.5);
+                });
+        assertThat(workItemRepository.findViewById(items.get(150).getId()).orElseThrow().assignee().id())
+                .isEqualTo(teammate.getId());
+
+        ArgumentCaptor<List<WorkItemSocketEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(broadcaster, times(1)).broadcastAll(eq(project.getId()), events.capture());
+        assertThat(events.getValue()).hasSize(ITEMS);
+        assertThat(events.getValue()).filteredOn(event -> event.getType() == EventType.DELETED).hasSize(20);
+        assertThat(events.getValue().get(0).getChanges())
+                .containsEntry("status", WorkItemStatus.TODO)
+                .containsEntry("position", 0.5)
+                .containsEntry("version", 1L)
+                .containsKey("updatedAt");
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void versionsAreBroadcastAndRecordedForLaterMerges() throws Exception {
+        WorkItem item = items.get(0);
+        List<String> operations = List.of(
+                op("MOVE", item, "\"status\":\"TODO\",\"position\":500"),
+                op("ASSIGN", item, "\"assigneeId\":\"" + teammate.getId() + "\""));
+
+        mockMvc.perform(post(baseUrl() + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(operations))
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isOk());
+
+        // Move and assignment each bumped the version once
+        long version = workItemRepository.findById(item.getId()).orElseThrow().getVersion();
+        assertThat(version).isEqualTo(item.getVersion() + 2);
+
+        ArgumentCaptor<List<WorkItemSocketEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(broadcaster).broadcastAll(eq(project.getId()), events.capture());
+        assertThat(events.getValue().get(0).getChanges()).containsEntry("version", version);
+
+        assertThat(changeLog.changedSince(item.getId(), item.getVersion(), version))
+                .contains(Set.of("status", "position", "assignee"));
+        assertThat(changeLog.changedSince(item.getId(), version - 1, version)).contains(Set.of("assignee"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void crowdedColumnsAreRenumberedAfterTheBatchCommits() throws Exception {
+        WorkItem first = items.get(1);
+        WorkItem second = items.get(2);
+        List<String> operations = List.of(
+                op("MOVE", first, "\"position\":500"),
+                op("MOVE", second, "\"position\":500.0000000001"));
+
+        mockMvc.perform(post(baseUrl() + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(operations))
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isOk());
+
+        // Moved by the batch, then renumbered in its own transaction: two versions, spaced positions
+        WorkItem renumbered = workItemRepository.findById(first.getId()).orElseThrow();
+        assertThat(renumbered.getPosition()).isEqualTo(WorkItemPositions.STEP);
+        assertThat(renumbered.getVersion()).isEqualTo(first.getVersion() + 2);
+        assertThat(workItemRepository.findById(second.getId()).orElseThrow().getPosition())
+                .isEqualTo(WorkItemPositions.STEP * 2);
+
+        // One broadcast; the renumber's patches come after the moves so they win
+        ArgumentCaptor<List<WorkItemSocketEvent>> events = ArgumentCaptor.forClass(List.class);
+        verify(broadcaster).broadcastAll(eq(project.getId()), events.capture());
+        List<WorkItemSocketEvent> broadcast = events.getValue();
+        assertThat(broadcast.get(0).getChanges()).containsEntry("position", 500.0);
+        assertThat(broadcast.subList(2, broadcast.size()))
+                .filteredOn(event -> event.getWorkItemId().equals(first.getId().toString()))
+                .singleElement()
+                .satisfies(event -> assertThat(event.getChanges())
+                        .containsEntry("position", WorkItemPositions.STEP)
+                        .containsEntry("version", renumbered.getVersion()));
+    }
+
+    @Test
+    void anUnknownItemRejectsTheWholeBatch() throws Exception {
+        List<String> operations = List.of(
+                op("MOVE", items.get(0), "\"status\":\"DONE\""),
+                "{\"op\":\"DELETE\",\"workItemId\":\"" + UUID.randomUUID() + "\"}");
+
+        mockMvc.perform(post(baseUrl() + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(operations))
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isBadRequest());
+
+        assertThat(workItemRepository.findById(items.get(0).getId()).orElseThrow().getStatus())
+                .isEqualTo(WorkItemStatus.BACKLOG);
+        verify(broadcaster, never()).broadcastAll(any(), any());
+    }
+
+    @Test
+    void nonMemberAssigneeIsRejected() throws Exception {
+        User outsider = board.user("Batch Outsider");
+        String assign = op("ASSIGN", items.get(0), "\"assigneeId\":\"" + outsider.getId() + "\"");
+        mockMvc.perform(post(baseUrl() + "/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body(List.of(assign)))
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))))
+                .andExpect(status().isBadRequest());
+    }
+
+    private String op(String kind, WorkItem item, String fields) {
+        return "{\"op\":\"" + kind + "\",\"workItemId\":\"" + item.getId() + "\""
+                + (fields != null ? "," + fields : "") + "}";
+    }
+
+    private String body(List<String> operations) {
+        return "{\"operations\":[" + String.join(",", operations) + "]}";
+    }
+
+    private String baseUrl() {
+        return "/api/projects/" + workspace.getId() + "/" + project.getId() + "/work-items";
+    }
+}
@@ -0,0 +1,170 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemPriority;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workitem.WorkItemView;
+import com.strideboard.data.workspace.Workspace;
+
+/**
+ * Versioned PATCHes: stale writes get a 409 with the current item, merge mode lets
+ * edits to different fields through, and concurrent writers cannot both win.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(BoardFixture.class)
+class WorkItemConflictTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private WorkItemRepository workItemRepository;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+    private Workspace workspace;
+    private Project project;
+    private WorkItem workItem;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Conflict Tester");
+        workspace = board.workspace("Conflicts", user);
+        board.join(workspace, "MEMBER", user);
+        project = board.project(workspace);
+        workItem = board.item(project, "Original");
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void staleVersionIsRejectedWithTheCurrentState() throws Exception {
+        update("{ \"title\": \"First\", \"version\": 0 }").andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(1));
+
+        update("{ \"priority\": \"HIGH\", \"version\": 0 }")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("First"))
+                .andExpect(jsonPath("$.version").value(1));
+
+        assertThat(view().priority()).isEqualTo(WorkItemPriority.MEDIUM);
+    }
+
+    @Test
+    void mergeAcceptsEditsToOtherFields() throws Exception {
+        update("{ \"title\": \"Renamed\", \"version\": 0, \"merge\": true }").andExpect(status().isOk());
+
+        update("{ \"status\": \"DONE\", \"version\": 0, \"merge\": true }")
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(2));
+
+        assertThat(view().title()).isEqualTo("Renamed");
+        assertThat(view().status()).isEqualTo(WorkItemStatus.DONE);
+    }
+
+    @Test
+    void mergeStillRejectsOverlappingEdits() throws Exception {
+        update("{ \"title\": \"Mine\", \"version\": 0, \"merge\": true }").andExpect(status().isOk());
+
+        update("{ \"title\": \"Theirs\", \"version\": 0, \"merge\": true }")
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.title").value("Mine"));
+    }
+
+    @Test
+    void unversionedUpdatesKeepLastWriteWins() throws Exception {
+        update("{ \"title\": \"One\" }").andExpect(status().isOk());
+        update("{ \"title\": \"Two\" }").andExpect(status().isOk());
+
+        assertThat(view().title()).isEqualTo("Two");
+        assertThat(view().version()).isEqualTo(2);
+    }
+
+    @Test
+    void concurrentWritersOnTheSameVersionCannotBothWin() throws Exception {
+        assertOneWinner(i -> "{ \"title\": \"Writer " + i + "\", \"version\": 0 }");
+    }
+
+    @Test
+    void concurrentMovesOnTheSameVersionCannotBothWin() throws Exception {
+        // Moves take the narrow UPDATE path, which carries its own version condition
+        assertOneWinner(i -> "{ \"position\": " + (2000 + i) + ", \"version\": 0 }");
+    }
+
+    private void assertOneWinner(IntFunction<String> bodies) throws Exception {
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Integer>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < writers; i++) {
+                String body = bodies.apply(i);
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return update(body).andReturn().getResponse().getStatus();
+                }));
+            }
+            start.countDown();
+
+            List<Integer> statuses = new ArrayList<>();
+            for (Future<Integer> future : futures) {
+                statuses.add(future.get(30, TimeUnit.SECONDS));
+            }
+            assertThat(statuses).containsOnly(200, 409);
+            assertThat(statuses).filteredOn(code -> code == 200).hasSize(1);
+        } finally {
+            pool.shutdown();
+        }
+
+        assertThat(view().version()).isEqualTo(1);
+    }
+
+    private ResultActions update(String body) throws Exception {
+        return mockMvc.perform(patch(baseUrl() + "/" + workItem.getId())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .with(jwt().jwt(token -> token.subject(user.getEmail()))));
+    }
+
+    private WorkItemView view() {
+        return workItemRepository.findViewById(workItem.getId()).orElseThrow();
+    }
+
+    private String baseUrl() {
+        return "/api/projects/" + workspace.getId() + "/" + project.getId() + "/work-items";
+    }
+}
@@ -0,0 +1,56 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.UUID;
+
+import org.junit.jupiter.api.Test;
+
+import com.strideboard.data.workitem.WorkItemCursor;
+import com.strideboard.data.workitem.WorkItemStatus;
+
+/**
+ * Cursors survive the round trip exactly (positions are doubles produced by repeated
+ * halving) and anything not produced by encode() is rejected with IllegalArgumentException.
+ */
+class WorkItemCursorTest {
+
+    @Test
+    void roundTripKeepsEveryComponentExactly() {
+        for (double position : new double[] { 0.0, 1000.0, 1000.0 + 1e-9, 1.0 / 3, -42.5, 1e15 + 0.5 }) {
+            WorkItemCursor cursor = new WorkItemCursor(WorkItemStatus.IN_PROGRESS, position, UUID.randomUUID());
+
+            assertThat(WorkItemCursor.decode(cursor.encode())).isEqualTo(cursor);
+        }
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String token = new WorkItemCursor(WorkItemStatus.TODO, 1.0 / 3, UUID.randomUUID()).encode();
+
+        assertThat(token).matches("[A-Za-z0-9_-]+");
+    }
+
+    @Test
+    void malformedCursorsAreRejected() {
+        UUID id = UUID.randomUUID();
+        for (String token : new String[] {
+                "not base64!",
+                encode("TODO|1000.0"),
+                encode("TODO|1000.0|" + id + "|extra"),
+                encode("SOMEDAY|1000.0|" + id),
+                encode("TODO|abc|" + id),
+                encode("TODO|1000.0|not-a-uuid") }) {
+            assertThatThrownBy(() -> WorkItemCursor.decode(token))
+                    .as(token)
+                    .isInstanceOf(IllegalArgumentException.class);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
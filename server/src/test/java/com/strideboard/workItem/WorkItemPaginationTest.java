@@ -0,0 +1,166 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import com.jayway.jsonpath.JsonPath;
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItemPriority;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workitem.WorkItemType;
+import com.strideboard.data.workspace.Workspace;
+
+/**
+ * Walking the keyset pages of a project returns every item exactly once, in the same
+ * order as a single page would, even when many items share a status and position, and
+ * with each filter applied.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(BoardFixture.class)
+class WorkItemPaginationTest {
+
+    private static final int ITEMS = 30;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private BoardFixture board;
+
+    private User user;
+    private User teammate;
+    private Workspace workspace;
+    private Project project;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Pages Tester");
+        teammate = board.user("Pages Teammate");
+        workspace = board.workspace("Pages", user);
+        board.join(workspace, "MEMBER", user, teammate);
+        project = board.project(workspace);
+
+        // Two statuses and three positions: ten items per (status, position), so page
+        // boundaries land inside runs that only the id tells apart
+        board.items(project, ITEMS, (item, i) -> item
+                .status(i % 2 == 0 ? WorkItemStatus.BACKLOG : WorkItemStatus.TODO)
+                .priority(WorkItemPriority.values()[i % WorkItemPriority.values().length])
+                .type(WorkItemType.values()[i % WorkItemType.values().length])
+                .position(1000.0 * (i % 3))
+                .assignee(i % 5 == 0 ? null : i % 3 == 0 ? user : teammate));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void pagesCoverEveryItemOnceInOrder() throws Exception {
+        List<String> expected = singlePage(Map.of());
+        assertThat(expected).hasSize(ITEMS).doesNotHaveDuplicates();
+
+        for (int limit : new int[] { 1, 3, 7, 10 }) {
+            assertThat(walk(limit, Map.of())).as("limit %d", limit).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() throws Exception {
+        String body = page(Map.of(), ITEMS, null);
+
+        assertThat(JsonPath.<List<String>>read(body, "$.items[*].id")).hasSize(ITEMS);
+        assertThat(JsonPath.<String>read(body, "$.nextCursor")).isNull();
+    }
+
+    @Test
+    void malformedCursorIsRejected() throws Exception {
+        for (String cursor : new String[] { "garbage!", "QkFDS0xPRw", "Tk9QRXwxLjB8eA" }) {
+            mockMvc.perform(request(Map.of(), 5).param("cursor", cursor))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void eachFilterPagesLikeItsSinglePage() throws Exception {
+        List<Map<String, String>> filters = List.of(
+                Map.of("status", "TODO"),
+                Map.of("assigneeId", teammate.getId().toString()),
+                Map.of("priority", "HIGH"),
+                Map.of("type", "BUG"),
+                Map.of("status", "BACKLOG", "assigneeId", teammate.getId().toString(), "type", "TASK"));
+
+        for (Map<String, String> filter : filters) {
+            List<String> expected = singlePage(filter);
+            assertThat(expected).as("%s", filter).isNotEmpty().doesNotHaveDuplicates();
+            assertThat(walk(2, filter)).as("%s", filter).isEqualTo(expected);
+        }
+    }
+
+    @Test
+    void filtersSelectOnlyMatchingItems() throws Exception {
+        String body = page(Map.of("status", "TODO", "priority", "MEDIUM"), 200, null);
+
+        List<String> statuses = JsonPath.read(body, "$.items[*].status");
+        List<String> priorities = JsonPath.read(body, "$.items[*].priority");
+        assertThat(statuses).isNotEmpty().containsOnly("TODO");
+        assertThat(priorities).containsOnly("MEDIUM");
+    }
+
+    private List<String> walk(int limit, Map<String, String> filter) throws Exception {
+        List<String> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            String body = page(filter, limit, cursor);
+            List<String> ids = JsonPath.read(body, "$.items[*].id");
+            assertThat(ids).hasSizeLessThanOrEqualTo(limit);
+            assertThat(seen).doesNotContainAnyElementsOf(ids);
+            seen.addAll(ids);
+            cursor = JsonPath.read(body, "$.nextCursor");
+        } while (cursor != null);
+        return seen;
+    }
+
+    private List<String> singlePage(Map<String, String> filter) throws Exception {
+        String body = page(filter, 200, null);
+        assertThat(JsonPath.<String>read(body, "$.nextCursor")).isNull();
+        return JsonPath.read(body, "$.items[*].id");
+    }
+
+    private String page(Map<String, String> filter, int limit, String cursor) throws Exception {
+        MockHttpServletRequestBuilder request = request(filter, limit);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        return mockMvc.perform(request)
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private MockHttpServletRequestBuilder request(Map<String, String> filter, int limit) {
+        MockHttpServletRequestBuilder request = get("/api/projects/{workspaceId}/{projectId}/work-items/page",
+                workspace.getId(), project.getId())
+                .param("limit", String.valueOf(limit))
+                .with(jwt().jwt(token -> token.subject(user.getEmail())));
+        filter.forEach(request::param);
+        return request;
+    }
+}
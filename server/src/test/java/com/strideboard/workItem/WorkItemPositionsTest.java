@@ -0,0 +1,113 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.realtime.WorkItemSocketEvent;
+
+/**
+ * A drop into an unsplittable gap renumbers the column, keeping its order.
+ */
+@SpringBootTest
+@Import(BoardFixture.class)
+class WorkItemPositionsTest {
+
+    @Autowired
+    private WorkItemPositions positions;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private WorkItemRepository workItemRepository;
+    @Autowired
+    private WorkItemChangeLog changeLog;
+    @Autowired
+    private BoardFixture board;
+
+    private Project project;
+    private List<WorkItem> items;
+
+    @BeforeEach
+    void seed() {
+        project = board.project(board.workspace("Positions", board.user("Position Tester")));
+        items = board.items(project, 3);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void roomyDropLeavesTheColumnAlone() {
+        UUID last = items.get(2).getId();
+        move(last, 1500.0);
+
+        assertThat(positions.rebalanceIfCrowded(project.getId(), WorkItemStatus.TODO, last, 1500.0)).isEmpty();
+        assertThat(positions.rebalanceIfCrowded(project.getId(), WorkItemStatus.TODO)).isEmpty();
+    }
+
+    @Test
+    void crowdedDropRenumbersTheColumnInOrder() {
+        UUID first = items.get(0).getId();
+        UUID second = items.get(1).getId();
+        UUID last = items.get(2).getId();
+        double crowded = WorkItemPositions.STEP + 1e-9;
+        move(last, crowded);
+
+        List<WorkItemSocketEvent> patches = positions.rebalanceIfCrowded(
+                project.getId(), WorkItemStatus.TODO, last, crowded);
+
+        // first keeps 1000; the moved item becomes 2000 and the old second item 3000
+        assertThat(patches).extracting(WorkItemSocketEvent::getWorkItemId)
+                .containsExactlyInAnyOrder(last.toString(), second.toString());
+        assertThat(column()).containsExactly(first, last, second);
+        assertThat(jdbcTemplate.queryForList(
+                "SELECT position FROM work_items WHERE project_id = ? ORDER BY position", Double.class,
+                project.getId())).containsExactly(1000.0, 2000.0, 3000.0);
+
+        // Renumbered rows get a new version, broadcast with the position and logged as a position change
+        long version = workItemRepository.findById(second).orElseThrow().getVersion();
+        assertThat(version).isEqualTo(items.get(1).getVersion() + 1);
+        assertThat(patches).filteredOn(patch -> patch.getWorkItemId().equals(second.toString()))
+                .singleElement()
+                .satisfies(patch -> assertThat(patch.getChanges()).containsEntry("version", version));
+        assertThat(changeLog.changedSince(second, version - 1, version)).contains(Set.of("position"));
+        assertThat(workItemRepository.findById(first).orElseThrow().getVersion())
+                .isEqualTo(items.get(0).getVersion());
+    }
+
+    @Test
+    void columnCheckFindsCrowdingAfterBulkMoves() {
+        UUID first = items.get(0).getId();
+        move(items.get(1).getId(), WorkItemPositions.STEP * 3);
+
+        assertThat(positions.rebalanceIfCrowded(project.getId(), WorkItemStatus.TODO)).isNotEmpty();
+        assertThat(column().get(0)).isEqualTo(first);
+    }
+
+    private void move(UUID itemId, double position) {
+        jdbcTemplate.update("UPDATE work_items SET position = ? WHERE id = ?", position, itemId);
+    }
+
+    private List<UUID> column() {
+        return jdbcTemplate.queryForList(
+                "SELECT id FROM work_items WHERE project_id = ? AND status = 'TODO' ORDER BY position, id",
+                UUID.class, project.getId());
+    }
+}
@@ -0,0 +1,224 @@
+package com.strideboard.workItem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.JwtRequestPostProcessor;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.auth.PrincipalCache;
+import com.strideboard.data.project.Project;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workitem.WorkItem;
+import com.strideboard.data.workitem.WorkItemPriority;
+import com.strideboard.data.workitem.WorkItemRepository;
+import com.strideboard.data.workitem.WorkItemStatus;
+import com.strideboard.data.workspace.Workspace;
+import com.strideboard.workspace.MembershipCache;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Guards the number of SQL statements each work-item endpoint issues.
+ * Authorization takes the role from MembershipCache and checks the project and item
+ * hierarchy in a single statement.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@Import(BoardFixture.class)
+class WorkItemStatementCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private MembershipCache membershipCache;
+    @Autowired
+    private WorkItemRepository workItemRepository;
+    @Autowired
+    private BoardFixture board;
+
+    private Statistics statistics;
+    private User user;
+    private Workspace workspace;
+    private Project project;
+    private WorkItem workItem;
+
+    @BeforeEach
+    void seed() {
+        user = board.user("Statement Counter");
+        workspace = board.workspace("Statements", user);
+        board.join(workspace, "MEMBER", user);
+        project = board.project(workspace);
+        workItem = board.item(project, "Existing");
+
+        // Warm the principal and membership caches so only the endpoint's own statements are counted
+        principalCache.resolve(new TestingAuthenticationToken(user.getEmail(), null));
+        membershipCache.findRole(user.getId(), workspace.getId());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        board.cleanUp();
+    }
+
+    @Test
+    void listUsesOneAuthorizationStatement() throws Exception {
+        mockMvc.perform(get(baseUrl()).with(asUser()))
+                .andExpect(status().isOk());
+
+        // authorization + item list with assignee/creator joined
+        assertStatements(2);
+    }
+
+    @Test
+    void listStatementCountDoesNotGrowWithItems() throws Exception {
+        List<User> assignees = board.users("Assignee", 10);
+        board.items(project, 1000, (item, i) -> item
+                .status(WorkItemStatus.values()[i % WorkItemStatus.values().length])
+                .priority(WorkItemPriority.LOW)
+                .position(2000.0 + i)
+                .assignee(i % 11 == 0 ? null : assignees.get(i % 10)));
+        statistics.clear();
+
+        mockMvc.perform(get(baseUrl()).with(asUser()))
+                .andExpect(status().isOk());
+
+        // Same two statements as the single-item project: no per-row assignee/creator selects
+        assertStatements(2);
+    }
+
+    @Test
+    void createUsesOneAuthorizationStatement() throws Exception {
+        createItem();
+
+        // authorization + insert + read model; the position block is reserved through JdbcTemplate
+        assertStatements(3);
+
+        statistics.clear();
+        createItem();
+
+        // same again, and the position comes from the block already reserved
+        assertStatements(3);
+    }
+
+    @Test
+    void updateUsesOneAuthorizationStatement() throws Exception {
+        mockMvc.perform(patch(baseUrl() + "/" + workItem.getId()).with(asUser())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "position": 1500.0 }
+                        """))
+                .andExpect(status().isOk());
+
+        // authorization + state without description + narrow update + read model
+        assertStatements(4);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+    }
+
+    @Test
+    void assignSkipsLoadingTheEntity() throws Exception {
+        mockMvc.perform(patch(baseUrl() + "/" + workItem.getId()).with(asUser())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "assigneeId": "%s", "status": "IN_PROGRESS" }
+                        """.formatted(user.getId())))
+                .andExpect(status().isOk());
+
+        // authorization + state + narrow update + read model; the assignee's membership is cached
+        assertStatements(4);
+        assertThat(statistics.getEntityLoadCount()).as("entities loaded").isZero();
+
+        WorkItem reloaded = workItemRepository.findById(workItem.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(WorkItemStatus.IN_PROGRESS);
+        assertThat(reloaded.getVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void editUsesTheEntityPath() throws Exception {
+        mockMvc.perform(patch(baseUrl() + "/" + workItem.getId()).with(asUser())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "title": "Renamed" }
+                        """))
+                .andExpect(status().isOk());
+
+        // authorization + load + update of the dirty columns + read model
+        assertStatements(4);
+    }
+
+    @Test
+    void deleteUsesOneAuthorizationStatement() throws Exception {
+        mockMvc.perform(delete(baseUrl() + "/" + workItem.getId()).with(asUser()))
+                .andExpect(status().isNoContent());
+
+        // authorization + notification recipients (for unread counts) + delete
+        assertStatements(3);
+    }
+
+    @Test
+    void cachedNonMemberIsRejectedWithoutAStatement() throws Exception {
+        User outsider = board.user("Outsider");
+        principalCache.resolve(new TestingAuthenticationToken(outsider.getEmail(), null));
+        membershipCache.findRole(outsider.getId(), workspace.getId());
+        statistics.clear();
+
+        mockMvc.perform(patch(baseUrl() + "/" + workItem.getId())
+                .with(jwt().jwt(token -> token.subject(outsider.getEmail())))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "title": "Nope" }
+                        """))
+                .andExpect(status().isForbidden());
+
+        assertStatements(0);
+    }
+
+    private String baseUrl() {
+        return "/api/projects/" + workspace.getId() + "/" + project.getId() + "/work-items";
+    }
+
+    private JwtRequestPostProcessor asUser() {
+        return jwt().jwt(token -> token.subject(user.getEmail()));
+    }
+
+    private void createItem() throws Exception {
+        mockMvc.perform(post(baseUrl()).with(asUser())
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        { "title": "New item" }
+                        """))
+                .andExpect(status().isOk());
+    }
+
+    private void assertStatements(long expected) {
+        assertThat(statistics.getPrepareStatementCount())
+                .as("SQL statements executed")
+                .isEqualTo(expected);
+    }
+}
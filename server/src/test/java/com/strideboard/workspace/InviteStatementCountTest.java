@@ -0,0 +1,148 @@
+package com.strideboard.workspace;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.context.event.ApplicationEvents;
+import org.springframework.test.context.event.RecordApplicationEvents;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.strideboard.BoardFixture;
+import com.strideboard.auth.PrincipalCache;
+import com.strideboard.data.notification.Notification;
+import com.strideboard.data.notification.NotificationRepository;
+import com.strideboard.data.notification.NotificationType;
+import com.strideboard.data.user.User;
+import com.strideboard.data.workspace.Workspace;
+import com.strideboard.notification.NotificationDispatcher;
+import com.strideboard.notification.NotificationsRequestedEvent;
+import com.strideboard.notification.PendingNotification;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Inviting a whole organisation costs a fixed number of statements, not several per email.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+@RecordApplicationEvents
+@Import(BoardFixture.class)
+class InviteStatementCountTest {
+
+    private static final int MEMBERS = 50;
+    private static final int PENDING = 50;
+    private static final int NEW_INVITEES = 400;
+    private static final int UNKNOWN = 20;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ApplicationEvents events;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private MembershipCache membershipCache;
+    @Autowired
+    private NotificationRepository notificationRepository;
+    @Autowired
+    private BoardFixture board;
+
+    // Keeps the invites from being written (and pushed) while statements are counted
+    @MockitoBean
+    private NotificationDispatcher dispatcher;
+
+    private Statistics statistics;
+    private User admin;
+    private Workspace workspace;
+    private List<User> invitees;
+
+    @BeforeEach
+    void seed() {
+        admin = board.user("Invite Admin");
+        workspace = board.workspace("Invites", admin);
+        board.join(workspace, "ADMIN", admin);
+
+        invitees = board.users("Invitee", MEMBERS + PENDING + NEW_INVITEES);
+        board.join(workspace, "MEMBER", invitees.subList(0, MEMBERS));
+        List<Notification> pendingInvites = new ArrayList<>();
+        for (User invitee : invitees.subList(MEMBERS, MEMBERS + PENDING)) {
+            pendingInvites.add(Notification.builder()
+                    .recipient(invitee)
+                    .type(NotificationType.INVITE)
+                    .workspace(workspace)
+                    .title("Workspace Invitation")
+                    .subtitle("Invites")
+                    .build());
+        }
+        notificationRepository.saveAll(pendingInvites);
+
+        // Warm the principal and membership caches so only the invite pipeline is counted
+        principalCache.resolve(new TestingAuthenticationToken(admin.getEmail(), null));
+        membershipCache.isAdmin(admin.getId(), workspace.getId());
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        // Memberships and notifications cascade with the workspace
+        board.cleanUp();
+    }
+
+    @Test
+    void invitingManyEmailsUsesAFixedNumberOfStatements() throws Exception {
+        List<String> emails = new ArrayList<>(invitees.stream().map(User::getEmail).toList());
+        for (int i = 0; i < UNKNOWN; i++) {
+            emails.add("nobody-" + UUID.randomUUID() + "@strideboard.test");
+        }
+        // The sender and mixed-case duplicates are ignored
+        emails.add(admin.getEmail());
+        emails.add(invitees.get(MEMBERS + PENDING).getEmail().toUpperCase());
+
+        String body = emails.stream()
+                .map(email -> "\"" + email + "\"")
+                .collect(Collectors.joining(",", "{\"emails\":[", "]}"));
+        mockMvc.perform(post("/api/workspaces/" + workspace.getId() + "/members")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(body)
+                .with(jwt().jwt(token -> token.subject(admin.getEmail()))))
+                .andExpect(status().isOk());
+
+        // workspace + users by email + existing members + pending invites
+        assertThat(statistics.getPrepareStatementCount()).as("SQL statements executed").isEqualTo(4);
+
+        List<PendingNotification> requested = events.stream(NotificationsRequestedEvent.class)
+                .flatMap(event -> event.notifications().stream())
+                .toList();
+        Set<UUID> expected = new HashSet<>(invitees.subList(MEMBERS + PENDING, invitees.size()).stream()
+                .map(User::getId)
+                .toList());
+        assertThat(requested).hasSize(NEW_INVITEES);
+        assertThat(requested).extracting(PendingNotification::recipientId)
+                .containsExactlyInAnyOrderElementsOf(expected);
+    }
+}